@@ -0,0 +1,37 @@
+-- Alinha um banco criado pela versão anterior de docs/mysql/schema.sql com src/main/resources/db/schema.sql:
+-- ids com largura variável, equipamento em uma única coluna "device" e status em VARCHAR.
+USE techfix;
+
+ALTER TABLE ticket_history DROP FOREIGN KEY fk_history_ticket;
+ALTER TABLE appointments DROP FOREIGN KEY fk_appointment_ticket;
+ALTER TABLE tickets DROP FOREIGN KEY fk_ticket_customer;
+
+ALTER TABLE customers MODIFY id VARCHAR(20) NOT NULL;
+
+ALTER TABLE tickets
+    MODIFY id VARCHAR(20) NOT NULL,
+    MODIFY customer_id VARCHAR(20) NOT NULL,
+    ADD COLUMN device VARCHAR(121) NULL AFTER customer_id,
+    MODIFY description VARCHAR(400),
+    MODIFY status VARCHAR(20) NOT NULL DEFAULT 'TRIAGEM',
+    MODIFY entry_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+UPDATE tickets SET device = TRIM(CONCAT_WS(' ', device_type, device_model));
+ALTER TABLE tickets
+    MODIFY device VARCHAR(121) NOT NULL,
+    DROP COLUMN device_type,
+    DROP COLUMN device_model;
+
+ALTER TABLE ticket_history
+    MODIFY ticket_id VARCHAR(20) NOT NULL,
+    MODIFY previous_status VARCHAR(20),
+    MODIFY new_status VARCHAR(20) NOT NULL;
+ALTER TABLE appointments MODIFY ticket_id VARCHAR(20) NOT NULL;
+
+ALTER TABLE tickets ADD CONSTRAINT fk_ticket_customer FOREIGN KEY (customer_id) REFERENCES customers(id);
+ALTER TABLE ticket_history ADD CONSTRAINT fk_history_ticket FOREIGN KEY (ticket_id) REFERENCES tickets(id);
+ALTER TABLE appointments ADD CONSTRAINT fk_appointment_ticket FOREIGN KEY (ticket_id) REFERENCES tickets(id);
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+    name VARCHAR(40) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
@@ -0,0 +1,9 @@
+-- tickets.entry_date passa de TIMESTAMP (segundos, convertido pelo fuso da sessão, limitado a 2038) para BIGINT
+-- com epoch millis em UTC, como em src/main/resources/db/schema.sql. UNIX_TIMESTAMP de uma coluna TIMESTAMP
+-- devolve o instante armazenado, independente do fuso da sessão.
+USE techfix;
+
+ALTER TABLE tickets ADD COLUMN entry_millis BIGINT NULL AFTER entry_date;
+UPDATE tickets SET entry_millis = CAST(UNIX_TIMESTAMP(entry_date) * 1000 AS SIGNED);
+ALTER TABLE tickets DROP COLUMN entry_date;
+ALTER TABLE tickets CHANGE COLUMN entry_millis entry_date BIGINT NOT NULL;
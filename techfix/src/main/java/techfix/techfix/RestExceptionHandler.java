@@ -6,16 +6,24 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import techfix.techfix.metrics.TechfixMetrics;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @ControllerAdvice
 public class RestExceptionHandler {
+    private final TechfixMetrics metrics;
+
+    public RestExceptionHandler(TechfixMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
     public Map<String, Object> handleIllegalArgument(IllegalArgumentException ex) {
+        metrics.countError(ex);
         Map<String, Object> error = new HashMap<>();
         error.put("error", "Bad Request");
         error.put("message", ex.getMessage());
@@ -26,6 +34,7 @@ public class RestExceptionHandler {
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ResponseBody
     public Map<String, Object> handleGeneric(Exception ex) {
+        metrics.countError(ex);
         Map<String, Object> error = new HashMap<>();
         error.put("error", "Internal Server Error");
         error.put("message", ex.getMessage());
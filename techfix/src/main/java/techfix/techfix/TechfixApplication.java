@@ -2,8 +2,10 @@ package techfix.techfix;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
 
-@SpringBootApplication
+// o DataSource só existe no modo jdbc, que importa a autoconfiguração por conta própria
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
 public class TechfixApplication {
 
 	public static void main(String[] args) {
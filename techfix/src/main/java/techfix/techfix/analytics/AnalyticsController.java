@@ -0,0 +1,74 @@
+package techfix.techfix.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import techfix.techfix.analytics.TicketAnalytics.Dimension;
+import techfix.techfix.analytics.TicketAnalytics.Granularity;
+import techfix.techfix.analytics.TicketAnalytics.InflowPoint;
+import techfix.techfix.analytics.TicketAnalytics.Overview;
+import techfix.techfix.analytics.TicketAnalytics.TurnaroundStats;
+import techfix.techfix.ticket.TicketController;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+	private static final Duration DEFAULT_HOURLY_RANGE = Duration.ofHours(48);
+	private static final Duration DEFAULT_DAILY_RANGE = Duration.ofDays(30);
+
+	private final TicketAnalytics ticketAnalytics;
+
+	public AnalyticsController(TicketAnalytics ticketAnalytics) {
+		this.ticketAnalytics = ticketAnalytics;
+	}
+
+	@GetMapping("/overview")
+	public Overview overview() {
+		return ticketAnalytics.overview(Instant.now());
+	}
+
+	@GetMapping("/inflow")
+	public List<InflowPoint> inflow(@RequestParam(required = false) String granularity,
+			@RequestParam(required = false) String from, @RequestParam(required = false) String to) {
+		Granularity resolved = granularity(granularity);
+		Instant end = end(to);
+		return ticketAnalytics.inflow(resolved, start(from, resolved, end), end);
+	}
+
+	@GetMapping("/turnaround")
+	public List<TurnaroundStats> turnaround(@RequestParam(defaultValue = "OVERALL") Dimension by,
+			@RequestParam(required = false) String granularity, @RequestParam(required = false) String from,
+			@RequestParam(required = false) String to) {
+		Granularity resolved = granularity(granularity);
+		Instant end = end(to);
+		return ticketAnalytics.turnaround(by, resolved, start(from, resolved, end), end);
+	}
+
+	private static Granularity granularity(String value) {
+		try {
+			return Granularity.of(value);
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Granularidade inválida: use HOUR ou DAY");
+		}
+	}
+
+	private static Instant end(String to) {
+		Instant end = TicketController.parseInstant("to", to);
+		return end != null ? end : Instant.now();
+	}
+
+	private static Instant start(String from, Granularity granularity, Instant end) {
+		Instant start = TicketController.parseInstant("from", from);
+		if (start != null) {
+			return start;
+		}
+		return end.minus(granularity == Granularity.HOUR ? DEFAULT_HOURLY_RANGE : DEFAULT_DAILY_RANGE);
+	}
+}
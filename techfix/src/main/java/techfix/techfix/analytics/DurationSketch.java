@@ -0,0 +1,91 @@
+package techfix.techfix.analytics;
+
+// sketch logarítmico (estilo DDSketch): cada bucket cobre um intervalo com erro relativo de até ACCURACY,
+// então dois sketches se combinam somando contagens, sem guardar as amostras
+public final class DurationSketch {
+
+	static final double ACCURACY = 0.01;
+
+	private static final double GAMMA = (1 + ACCURACY) / (1 - ACCURACY);
+	private static final double LOG_GAMMA = Math.log(GAMMA);
+
+	private long[] counts = new long[0];
+	private int offset;
+	private long zeros;
+	private long count;
+	private long max;
+
+	public void add(long millis) {
+		count++;
+		max = Math.max(max, millis);
+		if (millis <= 0) {
+			zeros++;
+			return;
+		}
+		int index = (int) Math.ceil(Math.log(millis) / LOG_GAMMA);
+		ensure(index, index);
+		counts[index - offset]++;
+	}
+
+	public void merge(DurationSketch other) {
+		count += other.count;
+		zeros += other.zeros;
+		max = Math.max(max, other.max);
+		if (other.counts.length == 0) {
+			return;
+		}
+		ensure(other.offset, other.offset + other.counts.length - 1);
+		for (int i = 0; i < other.counts.length; i++) {
+			counts[other.offset + i - offset] += other.counts[i];
+		}
+	}
+
+	public long count() {
+		return count;
+	}
+
+	public long max() {
+		return max;
+	}
+
+	public long quantile(double q) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(q * count);
+		long seen = zeros;
+		if (seen >= rank) {
+			return 0;
+		}
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(max, Math.round(2 * Math.pow(GAMMA, i + offset) / (GAMMA + 1)));
+			}
+		}
+		return max;
+	}
+
+	public DurationSketch copy() {
+		DurationSketch copy = new DurationSketch();
+		copy.merge(this);
+		return copy;
+	}
+
+	private void ensure(int low, int high) {
+		if (counts.length == 0) {
+			counts = new long[high - low + 1];
+			offset = low;
+			return;
+		}
+		int newLow = Math.min(low, offset);
+		int newHigh = Math.max(high, offset + counts.length - 1);
+		if (newLow == offset && newHigh == offset + counts.length - 1) {
+			return;
+		}
+		long[] grown = new long[newHigh - newLow + 1];
+		System.arraycopy(counts, 0, grown, offset - newLow, counts.length);
+		counts = grown;
+		offset = newLow;
+	}
+}
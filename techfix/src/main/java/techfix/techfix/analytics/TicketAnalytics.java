@@ -0,0 +1,275 @@
+package techfix.techfix.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import techfix.techfix.ticket.TicketService;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketEvent;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+@Service
+public class TicketAnalytics {
+
+	static final String UNASSIGNED = "Não atribuído";
+
+	private final ConcurrentNavigableMap<Instant, Bucket> hourly = new ConcurrentSkipListMap<>();
+	private final ConcurrentNavigableMap<Instant, Bucket> daily = new ConcurrentSkipListMap<>();
+	private final ConcurrentMap<String, OpenTicket> open = new ConcurrentHashMap<>();
+	private final Map<TicketStatus, AtomicInteger> openByStatus = new EnumMap<>(TicketStatus.class);
+	private final Duration hourlyRetention;
+	private final Duration dailyRetention;
+
+	public TicketAnalytics(TicketService ticketService,
+			@Value("${techfix.analytics.hourly-retention:14d}") Duration hourlyRetention,
+			@Value("${techfix.analytics.daily-retention:730d}") Duration dailyRetention) {
+		this.hourlyRetention = hourlyRetention;
+		this.dailyRetention = dailyRetention;
+		for (TicketStatus status : TicketStatus.values()) {
+			openByStatus.put(status, new AtomicInteger());
+		}
+		// o histórico carregado só reconstrói a entrada de chamados; quem já estava finalizado não tem o
+		// instante de conclusão e fica fora dos tempos de atendimento
+		for (Ticket ticket : ticketService.findAll()) {
+			opened(ticket, deviceTypeOf(ticket.device()), ticket.entryTime());
+		}
+		ticketService.onEvent(this::record);
+	}
+
+	public void record(TicketEvent event) {
+		if (event.previousStatus() == null) {
+			opened(event.ticket(), event.deviceType() != null ? event.deviceType() : deviceTypeOf(event.ticket().device()),
+					event.at());
+			return;
+		}
+		Ticket ticket = event.ticket();
+		// só aplica a transição que parte do estado acompanhado: chamados desconhecidos (já finalizados no
+		// replay) ou eventos que não batem com o estado atual não recriam nem movem nada
+		open.computeIfPresent(ticket.id(), (id, state) -> {
+			if (state.status() != event.previousStatus()) {
+				return state;
+			}
+			long dwell = Duration.between(state.since(), event.at()).toMillis();
+			openByStatus.get(state.status()).decrementAndGet();
+			for (Bucket bucket : buckets(event.at())) {
+				bucket.record(Dimension.STATUS, state.status().name(), dwell);
+			}
+			if (ticket.status() != TicketStatus.FINALIZADO) {
+				openByStatus.get(ticket.status()).incrementAndGet();
+				return state.moveTo(ticket.status(), event.at());
+			}
+			long turnaround = Duration.between(state.entryTime(), event.at()).toMillis();
+			for (Bucket bucket : buckets(event.at())) {
+				bucket.finalized(state, turnaround);
+			}
+			return null;
+		});
+	}
+
+	// o técnico é atribuído uma vez, pelo primeiro orçamento ou laudo do chamado: pedidos repetidos (inclusive os
+	// servidos do cache de PDF) só fazem uma leitura e não reatribuem o atendimento
+	public void assignTechnician(String ticketId, String technician) {
+		if (technician == null || technician.isBlank()) {
+			return;
+		}
+		OpenTicket current = open.get(ticketId);
+		if (current == null || !current.technician().equals(UNASSIGNED)) {
+			return;
+		}
+		open.computeIfPresent(ticketId,
+				(id, state) -> state.technician().equals(UNASSIGNED) ? state.withTechnician(technician.trim()) : state);
+	}
+
+	public List<InflowPoint> inflow(Granularity granularity, Instant from, Instant to) {
+		List<InflowPoint> points = new ArrayList<>();
+		for (Map.Entry<Instant, Bucket> entry : range(granularity, from, to).entrySet()) {
+			Bucket bucket = entry.getValue();
+			synchronized (bucket) {
+				points.add(new InflowPoint(entry.getKey(), bucket.created, bucket.finalized));
+			}
+		}
+		return points;
+	}
+
+	public List<TurnaroundStats> turnaround(Dimension by, Granularity granularity, Instant from, Instant to) {
+		Map<String, DurationSketch> merged = new TreeMap<>();
+		for (Bucket bucket : range(granularity, from, to).values()) {
+			bucket.mergeInto(by, merged);
+		}
+		List<TurnaroundStats> stats = new ArrayList<>(merged.size());
+		merged.forEach((key, sketch) -> stats.add(TurnaroundStats.of(key, sketch)));
+		return stats;
+	}
+
+	public Overview overview(Instant now) {
+		Map<TicketStatus, Integer> byStatus = new EnumMap<>(TicketStatus.class);
+		openByStatus.forEach((status, count) -> byStatus.put(status, count.get()));
+		byStatus.remove(TicketStatus.FINALIZADO);
+
+		long createdToday = 0;
+		long finalizedToday = 0;
+		Bucket today = daily.get(dayOf(now));
+		if (today != null) {
+			synchronized (today) {
+				createdToday = today.created;
+				finalizedToday = today.finalized;
+			}
+		}
+		long createdLast24Hours = 0;
+		for (InflowPoint point : inflow(Granularity.HOUR, now.minus(Duration.ofHours(23)), now)) {
+			createdLast24Hours += point.created();
+		}
+		Map<String, DurationSketch> overall = new HashMap<>();
+		for (Bucket bucket : range(Granularity.DAY, now.minus(Duration.ofDays(6)), now).values()) {
+			bucket.mergeInto(Dimension.OVERALL, overall);
+		}
+		DurationSketch lastWeek = overall.getOrDefault(Dimension.OVERALL.name(), new DurationSketch());
+		return new Overview(byStatus, byStatus.values().stream().mapToInt(Integer::intValue).sum(), createdToday,
+				finalizedToday, createdLast24Hours, TurnaroundStats.of("7d", lastWeek));
+	}
+
+	private void opened(Ticket ticket, String deviceType, Instant at) {
+		for (Bucket bucket : buckets(ticket.entryTime())) {
+			bucket.created();
+		}
+		if (ticket.status() != TicketStatus.FINALIZADO) {
+			open.put(ticket.id(), new OpenTicket(ticket.status(), at, ticket.entryTime(), deviceType, UNASSIGNED));
+			openByStatus.get(ticket.status()).incrementAndGet();
+		}
+	}
+
+	// só percorre os buckets do intervalo: o custo depende do período pedido, não do volume de chamados
+	private Map<Instant, Bucket> range(Granularity granularity, Instant from, Instant to) {
+		if (to.isBefore(from)) {
+			return Map.of();
+		}
+		ConcurrentNavigableMap<Instant, Bucket> buckets = granularity == Granularity.HOUR ? hourly : daily;
+		Instant start = granularity == Granularity.HOUR ? hourOf(from) : dayOf(from);
+		return buckets.subMap(start, true, to, true);
+	}
+
+	private List<Bucket> buckets(Instant at) {
+		return List.of(bucket(hourly, hourOf(at), hourlyRetention), bucket(daily, dayOf(at), dailyRetention));
+	}
+
+	private static Bucket bucket(ConcurrentNavigableMap<Instant, Bucket> buckets, Instant start, Duration retention) {
+		Bucket bucket = buckets.get(start);
+		if (bucket != null) {
+			return bucket;
+		}
+		Instant newest = buckets.isEmpty() ? start : buckets.lastKey();
+		buckets.headMap(newest.minus(retention)).clear();
+		return buckets.computeIfAbsent(start, key -> new Bucket());
+	}
+
+	private static Instant hourOf(Instant at) {
+		return at.truncatedTo(ChronoUnit.HOURS);
+	}
+
+	private static Instant dayOf(Instant at) {
+		return LocalDate.ofInstant(at, TicketService.ZONE).atStartOfDay(TicketService.ZONE).toInstant();
+	}
+
+	// o chamado guarda só "tipo + modelo" já concatenados; para o histórico usamos a primeira palavra
+	static String deviceTypeOf(String device) {
+		String trimmed = device.trim();
+		int space = trimmed.indexOf(' ');
+		return space > 0 ? trimmed.substring(0, space) : trimmed;
+	}
+
+	public enum Granularity {
+		HOUR, DAY;
+
+		public static Granularity of(String value) {
+			return value == null || value.isBlank() ? DAY : valueOf(value.trim().toUpperCase(Locale.ROOT));
+		}
+	}
+
+	public enum Dimension {
+		OVERALL, STATUS, DEVICE, TECHNICIAN
+	}
+
+	public record InflowPoint(Instant start, long created, long finalized) {
+	}
+
+	public record TurnaroundStats(String key, long count, double p50Hours, double p90Hours, double p99Hours,
+			double maxHours) {
+
+		static TurnaroundStats of(String key, DurationSketch sketch) {
+			return new TurnaroundStats(key, sketch.count(), hours(sketch.quantile(0.5)), hours(sketch.quantile(0.9)),
+					hours(sketch.quantile(0.99)), hours(sketch.max()));
+		}
+
+		private static double hours(long millis) {
+			return Math.round(millis / 36_000.0) / 100.0;
+		}
+	}
+
+	public record Overview(Map<TicketStatus, Integer> openByStatus, int pendingTickets, long createdToday,
+			long finalizedToday, long createdLast24Hours, TurnaroundStats turnaroundLast7Days) {
+	}
+
+	private record OpenTicket(TicketStatus status, Instant since, Instant entryTime, String deviceType,
+			String technician) {
+
+		OpenTicket moveTo(TicketStatus next, Instant at) {
+			return new OpenTicket(next, at, entryTime, deviceType, technician);
+		}
+
+		OpenTicket withTechnician(String name) {
+			return new OpenTicket(status, since, entryTime, deviceType, name);
+		}
+	}
+
+	private static final class Bucket {
+
+		private final EnumMap<Dimension, Map<String, DurationSketch>> sketches = new EnumMap<>(Dimension.class);
+		private long created;
+		private long finalized;
+
+		synchronized void created() {
+			created++;
+		}
+
+		synchronized void finalized(OpenTicket state, long turnaround) {
+			finalized++;
+			add(Dimension.OVERALL, Dimension.OVERALL.name(), turnaround);
+			add(Dimension.DEVICE, state.deviceType(), turnaround);
+			add(Dimension.TECHNICIAN, state.technician(), turnaround);
+		}
+
+		synchronized void record(Dimension dimension, String key, long millis) {
+			add(dimension, key, millis);
+		}
+
+		synchronized void mergeInto(Dimension dimension, Map<String, DurationSketch> target) {
+			Map<String, DurationSketch> byKey = sketches.get(dimension);
+			if (byKey == null) {
+				return;
+			}
+			byKey.forEach((key, sketch) -> target.computeIfAbsent(key, ignored -> new DurationSketch()).merge(sketch));
+		}
+
+		private void add(Dimension dimension, String key, long millis) {
+			sketches.computeIfAbsent(dimension, ignored -> new HashMap<>())
+					.computeIfAbsent(key, ignored -> new DurationSketch()).add(millis);
+		}
+	}
+}
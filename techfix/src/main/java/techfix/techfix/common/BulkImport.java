@@ -0,0 +1,135 @@
+package techfix.techfix.common;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import techfix.techfix.common.RecordReader.Record;
+
+public final class BulkImport {
+
+	public static final int BATCH_SIZE = 500;
+	public static final int MAX_REPORTED_ERRORS = 1000;
+
+	private BulkImport() {
+	}
+
+	public static <R> Report run(RecordReader reader, Validator validator, Function<Map<String, String>, R> mapper,
+			BatchApplier<R> applier) throws IOException {
+		Tally tally = new Tally();
+		List<R> batch = new ArrayList<>(BATCH_SIZE);
+		List<Long> batchLines = new ArrayList<>(BATCH_SIZE);
+
+		Record record;
+		while ((record = reader.next()) != null) {
+			tally.processed++;
+			if (record.error() != null) {
+				tally.reject(record.line(), record.error());
+				continue;
+			}
+
+			R request;
+			try {
+				request = mapper.apply(record.fields());
+			} catch (IllegalArgumentException ex) {
+				tally.reject(record.line(), ex.getMessage());
+				continue;
+			}
+			Set<ConstraintViolation<R>> violations = validator.validate(request);
+			if (!violations.isEmpty()) {
+				tally.reject(record.line(), violations.stream()
+						.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+						.sorted().collect(Collectors.joining("; ")));
+				continue;
+			}
+
+			batch.add(request);
+			batchLines.add(record.line());
+			if (batch.size() == BATCH_SIZE) {
+				apply(batch, batchLines, applier, tally);
+			}
+		}
+		apply(batch, batchLines, applier, tally);
+		return tally.report();
+	}
+
+	public static int integer(Map<String, String> fields, String name) {
+		String value = fields.get(name);
+		if (value == null || value.isBlank()) {
+			return 0;
+		}
+		try {
+			return new BigDecimal(value.trim()).intValueExact();
+		} catch (ArithmeticException | NumberFormatException ex) {
+			throw new IllegalArgumentException(name + ": número inteiro inválido");
+		}
+	}
+
+	public static BigDecimal decimal(Map<String, String> fields, String name) {
+		String value = fields.get(name);
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			return new BigDecimal(value.trim().replace(',', '.'));
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException(name + ": valor numérico inválido");
+		}
+	}
+
+	private static <R> void apply(List<R> batch, List<Long> batchLines, BatchApplier<R> applier, Tally tally) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		int[] rejected = new int[1];
+		applier.apply(batch, (index, message) -> {
+			rejected[0]++;
+			tally.reject(batchLines.get(index), message);
+		});
+		tally.imported += batch.size() - rejected[0];
+		batch.clear();
+		batchLines.clear();
+	}
+
+	@FunctionalInterface
+	public interface BatchApplier<R> {
+		void apply(List<R> batch, BiConsumer<Integer, String> rejected);
+	}
+
+	public record Report(long processed, long imported, long rejected, List<LineError> errors,
+			boolean errorsTruncated) {
+	}
+
+	public record LineError(long line, String message) {
+	}
+
+	private static final class Tally {
+
+		private final List<LineError> errors = new ArrayList<>();
+		private long processed;
+		private long imported;
+		private long rejected;
+
+		void reject(long line, String message) {
+			rejected++;
+			if (errors.size() < MAX_REPORTED_ERRORS) {
+				errors.add(new LineError(line, message));
+			}
+		}
+
+		Report report() {
+			errors.sort(Comparator.comparingLong(LineError::line));
+			return new Report(processed, imported, rejected, errors, rejected > errors.size());
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package techfix.techfix.common;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import tools.jackson.databind.json.JsonMapper;
+
+@Component
+public class ConditionalGet {
+
+	private final JsonMapper jsonMapper;
+	private final long maxBytes;
+	private final int maxBodyBytes;
+	// as versões vêm de contadores em memória que recomeçam a cada boot e não são compartilhados entre instâncias;
+	// o epoch aleatório garante que uma tag antiga nunca receba 304 para dados diferentes
+	private final String epoch = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+	private final LinkedHashMap<String, CachedBody> bodies = new LinkedHashMap<>(64, 0.75f, true);
+	private long bytes;
+
+	public ConditionalGet(JsonMapper jsonMapper,
+			@Value("${techfix.http.body-cache.max-bytes:8388608}") long maxBytes,
+			@Value("${techfix.http.body-cache.max-body-bytes:262144}") int maxBodyBytes) {
+		this.jsonMapper = jsonMapper;
+		this.maxBytes = maxBytes;
+		this.maxBodyBytes = maxBodyBytes;
+	}
+
+	public ResponseEntity<byte[]> respond(String ifNoneMatch, String resource, Object version, String variant,
+			Supplier<? extends ResponseEntity<?>> response) {
+		String etag = "\"" + resource + "-" + epoch + "-" + version + "\"";
+		if (matches(ifNoneMatch, etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache())
+					.build();
+		}
+
+		String key = resource + "?" + variant;
+		CachedBody cached = cached(key, etag);
+		if (cached == null) {
+			ResponseEntity<?> rendered = response.get();
+			cached = new CachedBody(etag, rendered.getStatusCode(), rendered.getHeaders(),
+					jsonMapper.writeValueAsBytes(rendered.getBody()));
+			store(key, cached);
+		}
+		return ResponseEntity.status(cached.status()).headers(cached.headers()).eTag(etag)
+				.cacheControl(CacheControl.noCache()).contentType(MediaType.APPLICATION_JSON).body(cached.content());
+	}
+
+	static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+			return false;
+		}
+		int start = 0;
+		while (start < ifNoneMatch.length()) {
+			int end = ifNoneMatch.indexOf(',', start);
+			if (end < 0) {
+				end = ifNoneMatch.length();
+			}
+			String candidate = ifNoneMatch.substring(start, end).trim();
+			if (candidate.startsWith("W/")) {
+				candidate = candidate.substring(2);
+			}
+			if (candidate.equals("*") || candidate.equals(etag)) {
+				return true;
+			}
+			start = end + 1;
+		}
+		return false;
+	}
+
+	private synchronized CachedBody cached(String key, String etag) {
+		CachedBody cached = bodies.get(key);
+		return cached != null && cached.etag().equals(etag) ? cached : null;
+	}
+
+	synchronized long cachedBytes() {
+		return bytes;
+	}
+
+	// corpos acima de max-body-bytes são servidos sem cache: uma página grande não expulsa dezenas de pequenas
+	private synchronized void store(String key, CachedBody body) {
+		int length = body.content().length;
+		if (length > maxBodyBytes || length > maxBytes) {
+			return;
+		}
+		CachedBody previous = bodies.put(key, body);
+		if (previous != null) {
+			bytes -= previous.content().length;
+		}
+		bytes += length;
+
+		Iterator<CachedBody> eldest = bodies.values().iterator();
+		while (bytes > maxBytes && eldest.hasNext()) {
+			bytes -= eldest.next().content().length;
+			eldest.remove();
+		}
+	}
+
+	private record CachedBody(String etag, HttpStatusCode status, HttpHeaders headers, byte[] content) {
+	}
+}
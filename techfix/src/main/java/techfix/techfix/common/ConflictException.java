@@ -0,0 +1,8 @@
+package techfix.techfix.common;
+
+public class ConflictException extends RuntimeException {
+
+	public ConflictException(String message) {
+		super(message);
+	}
+}
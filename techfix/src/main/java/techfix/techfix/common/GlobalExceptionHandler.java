@@ -4,6 +4,9 @@ import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,13 +15,24 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import jakarta.validation.ConstraintViolationException;
+import techfix.techfix.metrics.TechfixMetrics;
 
+// precede o RestExceptionHandler: o Spring usa a primeira advice com algum handler compatível, e o catch-all
+// de Exception de lá transformaria 404/409/415/503 em 500
+@Order(Ordered.HIGHEST_PRECEDENCE)
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+	private final TechfixMetrics metrics;
+
+	public GlobalExceptionHandler(TechfixMetrics metrics) {
+		this.metrics = metrics;
+	}
+
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
 	public ApiError handleValidation(MethodArgumentNotValidException ex) {
+		metrics.countError(ex);
 		List<String> details = ex.getBindingResult().getFieldErrors().stream()
 				.map(fieldError -> "%s: %s".formatted(fieldError.getField(), fieldError.getDefaultMessage()))
 				.collect(Collectors.toList());
@@ -28,6 +42,7 @@ public class GlobalExceptionHandler {
 	@ExceptionHandler(ConstraintViolationException.class)
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
 	public ApiError handleConstraintViolation(ConstraintViolationException ex) {
+		metrics.countError(ex);
 		List<String> details = ex.getConstraintViolations().stream()
 				.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage()).toList();
 		return ApiError.badRequest("Parâmetros inválidos", details);
@@ -35,12 +50,35 @@ public class GlobalExceptionHandler {
 
 	@ExceptionHandler(IllegalArgumentException.class)
 	public ResponseEntity<ApiError> handleIllegalArgument(IllegalArgumentException ex) {
+		metrics.countError(ex);
 		return ResponseEntity.status(HttpStatus.NOT_FOUND)
 				.body(ApiError.of("Recurso não encontrado", List.of(ex.getMessage()), HttpStatus.NOT_FOUND));
 	}
 
+	@ExceptionHandler(ConflictException.class)
+	public ResponseEntity<ApiError> handleConflict(ConflictException ex) {
+		metrics.countError(ex);
+		return ResponseEntity.status(HttpStatus.CONFLICT)
+				.body(ApiError.of("Conflito de estado", List.of(ex.getMessage()), HttpStatus.CONFLICT));
+	}
+
+	@ExceptionHandler(UnsupportedFormatException.class)
+	public ResponseEntity<ApiError> handleUnsupportedFormat(UnsupportedFormatException ex) {
+		metrics.countError(ex);
+		return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(
+				ApiError.of("Formato não suportado", List.of(ex.getMessage()), HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+	}
+
+	@ExceptionHandler(OverloadedException.class)
+	public ResponseEntity<ApiError> handleOverloaded(OverloadedException ex) {
+		metrics.countError(ex);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5")
+				.body(ApiError.of("Serviço sobrecarregado", List.of(ex.getMessage()), HttpStatus.SERVICE_UNAVAILABLE));
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ApiError> handleGeneric(Exception ex) {
+		metrics.countError(ex);
 		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
 				.body(ApiError.of("Erro interno", List.of(ex.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR));
 	}
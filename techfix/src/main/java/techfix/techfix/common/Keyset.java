@@ -0,0 +1,69 @@
+package techfix.techfix.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.http.ResponseEntity;
+
+public final class Keyset {
+
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	public static final int MAX_LIMIT = 500;
+	public static final Comparator<String> ID_ORDER = Comparator.comparingInt(String::length)
+			.thenComparing(Comparator.naturalOrder());
+
+	private Keyset() {
+	}
+
+	public static <K, V> Page<V> page(NavigableSet<K> keys, K after, int limit,
+			Function<? super K, ? extends V> lookup, Predicate<? super V> filter, Function<? super K, String> cursorOf) {
+		NavigableSet<K> tail = after == null ? keys : keys.tailSet(after, false);
+		List<V> items = new ArrayList<>(Math.min(limit, 64));
+		K last = null;
+		for (K key : tail) {
+			V value = lookup.apply(key);
+			if (value == null || !filter.test(value)) {
+				continue;
+			}
+			if (items.size() == limit) {
+				return new Page<>(items, encode(cursorOf.apply(last)));
+			}
+			items.add(value);
+			last = key;
+		}
+		return new Page<>(items, null);
+	}
+
+	public static <T> ResponseEntity<List<T>> ok(Page<T> page) {
+		var response = ResponseEntity.ok();
+		if (page.nextCursor() != null) {
+			response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+		}
+		return response.body(page.items());
+	}
+
+	public static int limit(Integer requested) {
+		return requested != null ? requested : Integer.MAX_VALUE;
+	}
+
+	public static String encode(String key) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static String decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		try {
+			return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Cursor de paginação inválido");
+		}
+	}
+}
@@ -0,0 +1,8 @@
+package techfix.techfix.common;
+
+public class OverloadedException extends RuntimeException {
+
+	public OverloadedException(String message) {
+		super(message);
+	}
+}
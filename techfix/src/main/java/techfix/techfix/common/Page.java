@@ -0,0 +1,12 @@
+package techfix.techfix.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record Page<T>(List<T> items, String nextCursor) {
+
+	public <R> Page<R> map(Function<? super T, ? extends R> mapper) {
+		List<R> mapped = items.stream().<R>map(mapper).toList();
+		return new Page<>(mapped, nextCursor);
+	}
+}
@@ -0,0 +1,34 @@
+package techfix.techfix.common;
+
+import java.util.Locale;
+
+public enum RecordFormat {
+	NDJSON("application/x-ndjson", "ndjson"), CSV("text/csv;charset=UTF-8", "csv");
+
+	private final String contentType;
+	private final String extension;
+
+	RecordFormat(String contentType, String extension) {
+		this.contentType = contentType;
+		this.extension = extension;
+	}
+
+	public String contentType() {
+		return contentType;
+	}
+
+	public String extension() {
+		return extension;
+	}
+
+	public static RecordFormat of(String format, String contentType) {
+		String hint = (format != null ? format : contentType != null ? contentType : "").toLowerCase(Locale.ROOT);
+		if (hint.contains("csv")) {
+			return CSV;
+		}
+		if (hint.isEmpty() || hint.contains("ndjson") || hint.contains("json")) {
+			return NDJSON;
+		}
+		throw new UnsupportedFormatException("Formato não suportado: use NDJSON ou CSV");
+	}
+}
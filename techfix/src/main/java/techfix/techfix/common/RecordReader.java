@@ -0,0 +1,143 @@
+package techfix.techfix.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.json.JsonParser;
+import org.springframework.boot.json.JsonParserFactory;
+
+public final class RecordReader {
+
+	// um registro CSV pode continuar em várias linhas dentro de aspas; uma aspa nunca fechada não pode
+	// arrastar o resto do arquivo para a memória
+	static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+	private static final JsonParser JSON = JsonParserFactory.getJsonParser();
+	private static final List<String> OVERSIZED = new ArrayList<>();
+
+	private final BufferedReader reader;
+	private final RecordFormat format;
+	private List<String> header;
+	private char delimiter = ',';
+	private long line;
+
+	public RecordReader(InputStream input, RecordFormat format) {
+		this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+		this.format = format;
+	}
+
+	public Record next() throws IOException {
+		String text;
+		do {
+			text = reader.readLine();
+			line++;
+			if (text == null) {
+				return null;
+			}
+			if (line == 1 && !text.isEmpty() && text.charAt(0) == '\uFEFF') {
+				text = text.substring(1);
+			}
+		} while (text.isBlank());
+
+		return format == RecordFormat.NDJSON ? json(text) : csv(text);
+	}
+
+	private Record json(String text) {
+		try {
+			Map<String, Object> values = JSON.parseMap(text);
+			Map<String, String> fields = new LinkedHashMap<>();
+			values.forEach((key, value) -> fields.put(key, value != null ? String.valueOf(value) : null));
+			return new Record(line, fields, null);
+		} catch (IllegalArgumentException ex) {
+			return new Record(line, Map.of(), "JSON inválido");
+		}
+	}
+
+	private Record csv(String text) throws IOException {
+		long start = line;
+		if (header == null) {
+			delimiter = text.indexOf(';') >= 0 && text.indexOf(',') < 0 ? ';' : ',';
+			header = new ArrayList<>();
+			for (String column : split(text)) {
+				header.add(column.trim().toLowerCase(Locale.ROOT));
+			}
+			return next();
+		}
+
+		List<String> values = split(text);
+		if (values == null) {
+			return new Record(start, Map.of(), "Aspas não fechadas");
+		}
+		if (values == OVERSIZED) {
+			return new Record(start, Map.of(),
+					"Registro excede %d caracteres; verifique aspas não fechadas".formatted(MAX_RECORD_LENGTH));
+		}
+		if (values.size() != header.size()) {
+			return new Record(start, Map.of(),
+					"Esperadas %d colunas, encontradas %d".formatted(header.size(), values.size()));
+		}
+		Map<String, String> fields = new LinkedHashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			fields.put(header.get(i), values.get(i));
+		}
+		return new Record(start, fields, null);
+	}
+
+	private List<String> split(String text) throws IOException {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		int length = text.length();
+		int i = 0;
+		while (true) {
+			if (i == text.length()) {
+				if (!quoted) {
+					break;
+				}
+				text = reader.readLine();
+				line++;
+				if (text == null) {
+					return null;
+				}
+				length += text.length() + 1;
+				if (length > MAX_RECORD_LENGTH) {
+					return OVERSIZED;
+				}
+				value.append('\n');
+				i = 0;
+				continue;
+			}
+			char c = text.charAt(i++);
+			if (quoted) {
+				if (c != '"') {
+					value.append(c);
+				} else if (i < text.length() && text.charAt(i) == '"') {
+					value.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == delimiter) {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		values.add(value.toString());
+		return values;
+	}
+
+	public record Record(long line, Map<String, String> fields, String error) {
+	}
+}
@@ -0,0 +1,154 @@
+package techfix.techfix.common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public final class RecordWriter<T> {
+
+	private final Writer writer;
+	private final RecordFormat format;
+	private final List<Column<T>> columns;
+	private final StringBuilder line = new StringBuilder(256);
+	private long written;
+
+	public RecordWriter(OutputStream output, RecordFormat format, List<Column<T>> columns) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 1 << 14);
+		this.format = format;
+		this.columns = columns;
+	}
+
+	public static <T> ResponseEntity<StreamingResponseBody> export(String name, RecordFormat format,
+			String acceptEncoding, List<Column<T>> columns, Iterable<T> records) {
+		boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+		var response = ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=" + name + "." + format.extension() + (gzip ? ".gz" : ""))
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+				.contentType(MediaType.parseMediaType(format.contentType()));
+		if (gzip) {
+			response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return response.body(output -> {
+			OutputStream target = gzip ? new GZIPOutputStream(output, 1 << 14, true) : output;
+			RecordWriter<T> writer = new RecordWriter<>(target, format, columns);
+			writer.writeAll(records);
+			writer.finish();
+			if (gzip) {
+				((GZIPOutputStream) target).finish();
+			}
+		});
+	}
+
+	public void writeAll(Iterable<T> records) throws IOException {
+		if (format == RecordFormat.CSV) {
+			for (int i = 0; i < columns.size(); i++) {
+				appendCsv(i, columns.get(i).name());
+			}
+			emit();
+		}
+		for (T record : records) {
+			write(record);
+		}
+	}
+
+	public void write(T record) throws IOException {
+		for (int i = 0; i < columns.size(); i++) {
+			Column<T> column = columns.get(i);
+			Object value = column.value().apply(record);
+			if (format == RecordFormat.CSV) {
+				appendCsv(i, value != null ? value.toString() : "");
+			} else {
+				appendJson(i, column.name(), value);
+			}
+		}
+		if (format == RecordFormat.NDJSON) {
+			line.append('}');
+		}
+		emit();
+		if (++written == 1) {
+			writer.flush();
+		}
+	}
+
+	public void finish() throws IOException {
+		writer.flush();
+	}
+
+	private void emit() throws IOException {
+		line.append('\n');
+		writer.append(line);
+		line.setLength(0);
+	}
+
+	private void appendCsv(int index, String value) {
+		if (index > 0) {
+			line.append(',');
+		}
+		boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+				|| value.indexOf('\r') >= 0;
+		if (!quote) {
+			line.append(value);
+			return;
+		}
+		line.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') {
+				line.append('"');
+			}
+			line.append(c);
+		}
+		line.append('"');
+	}
+
+	private void appendJson(int index, String name, Object value) {
+		line.append(index == 0 ? '{' : ',');
+		appendJsonString(name);
+		line.append(':');
+		if (value == null) {
+			line.append("null");
+		} else if (value instanceof Number || value instanceof Boolean) {
+			line.append(value);
+		} else {
+			appendJsonString(value.toString());
+		}
+	}
+
+	private void appendJsonString(String value) {
+		line.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> line.append("\\\"");
+				case '\\' -> line.append("\\\\");
+				case '\n' -> line.append("\\n");
+				case '\r' -> line.append("\\r");
+				case '\t' -> line.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						line.append("\\u%04x".formatted((int) c));
+					} else {
+						line.append(c);
+					}
+				}
+			}
+		}
+		line.append('"');
+	}
+
+	public record Column<T>(String name, Function<T, Object> value) {
+	}
+}
@@ -0,0 +1,52 @@
+package techfix.techfix.common;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+public final class TextFolding {
+
+	private TextFolding() {
+	}
+
+	public static String fold(String text) {
+		if (text == null || text.isEmpty()) {
+			return "";
+		}
+		String lower = text.toLowerCase(Locale.ROOT);
+		if (isPlainAscii(lower)) {
+			return lower;
+		}
+		String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+		StringBuilder folded = new StringBuilder(decomposed.length());
+		for (int i = 0; i < decomposed.length(); i++) {
+			char c = decomposed.charAt(i);
+			if (Character.getType(c) != Character.NON_SPACING_MARK) {
+				folded.append(c);
+			}
+		}
+		return folded.toString();
+	}
+
+	public static String digits(String text) {
+		if (text == null || text.isEmpty()) {
+			return "";
+		}
+		StringBuilder digits = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c >= '0' && c <= '9') {
+				digits.append(c);
+			}
+		}
+		return digits.toString();
+	}
+
+	private static boolean isPlainAscii(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
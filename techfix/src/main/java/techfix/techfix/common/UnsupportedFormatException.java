@@ -0,0 +1,8 @@
+package techfix.techfix.common;
+
+public class UnsupportedFormatException extends RuntimeException {
+
+	public UnsupportedFormatException(String message) {
+		super(message);
+	}
+}
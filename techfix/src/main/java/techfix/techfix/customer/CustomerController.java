@@ -1,38 +1,100 @@
 package techfix.techfix.customer;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import techfix.techfix.common.BulkImport;
+import techfix.techfix.common.ConditionalGet;
+import techfix.techfix.common.Keyset;
+import techfix.techfix.common.RecordFormat;
+import techfix.techfix.common.RecordReader;
+import techfix.techfix.common.RecordWriter;
+import techfix.techfix.common.RecordWriter.Column;
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.metrics.TechfixMetrics;
+import techfix.techfix.ticket.TicketController.TicketResponse;
+import techfix.techfix.ticket.TicketService;
+import techfix.techfix.ticket.TicketService.TicketSort;
+import techfix.techfix.ticket.TicketService.TicketStatus;
 
 @RestController
 @RequestMapping("/api/customers")
 public class CustomerController {
 
+	private static final List<Column<Customer>> EXPORT_COLUMNS = List.of(
+			new Column<>("id", Customer::id),
+			new Column<>("name", Customer::name),
+			new Column<>("cpf", Customer::cpf),
+			new Column<>("phone", Customer::phone),
+			new Column<>("address", Customer::address));
+
 	private final CustomerService customerService;
 
-	public CustomerController(CustomerService customerService) {
+	private final TicketService ticketService;
+
+	private final Validator validator;
+
+	private final TechfixMetrics metrics;
+
+	private final ConditionalGet conditionalGet;
+
+	public CustomerController(CustomerService customerService, TicketService ticketService, Validator validator,
+			TechfixMetrics metrics, ConditionalGet conditionalGet) {
 		this.customerService = customerService;
+		this.ticketService = ticketService;
+		this.validator = validator;
+		this.metrics = metrics;
+		this.conditionalGet = conditionalGet;
 	}
 
 	@GetMapping
-	public List<CustomerResponse> getAllCustomers() {
-		return customerService.findAll().stream().map(CustomerResponse::from).toList();
+	public ResponseEntity<byte[]> getAllCustomers(
+			@RequestParam(required = false) @Min(1) @Max(Keyset.MAX_LIMIT) Integer limit,
+			@RequestParam(required = false) String cursor,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		return conditionalGet.respond(ifNoneMatch, "customers", customerService.version(), limit + "|" + cursor,
+				() -> Keyset.ok(customerService.page(cursor, Keyset.limit(limit)).map(CustomerResponse::from)));
 	}
 
 	@GetMapping("/search")
 	public List<CustomerResponse> searchCustomers(
-			@RequestParam @Size(min = 2, message = "Informe ao menos 2 caracteres") String query) {
-		return customerService.search(query).stream().map(CustomerResponse::from).toList();
+			@RequestParam @Size(min = 2, message = "Informe ao menos 2 caracteres") String query,
+			@RequestParam(defaultValue = "" + CustomerService.DEFAULT_SEARCH_LIMIT) @Min(1) @Max(100) int limit) {
+		long start = System.nanoTime();
+		List<Customer> found = customerService.search(query, limit);
+		metrics.recordSearch(System.nanoTime() - start, found.size());
+		return found.stream().map(CustomerResponse::from).toList();
+	}
+
+	@GetMapping("/{customerId}/tickets")
+	public ResponseEntity<List<TicketResponse>> getCustomerTickets(@PathVariable String customerId,
+			@RequestParam(required = false) TicketStatus status,
+			@RequestParam(required = false) @Min(1) @Max(Keyset.MAX_LIMIT) Integer limit,
+			@RequestParam(required = false) String cursor) {
+		customerService.getRequired(customerId);
+		var page = ticketService.page(status, customerId, TicketSort.ID, cursor, Keyset.limit(limit));
+		return Keyset.ok(page.map(TicketResponse::from));
 	}
 
 	@PostMapping
@@ -41,6 +103,24 @@ public class CustomerController {
 		return CustomerResponse.from(created);
 	}
 
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestParam(required = false) String format,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		return RecordWriter.export("clientes", RecordFormat.of(format, null), acceptEncoding, EXPORT_COLUMNS,
+				customerService.inIdOrder());
+	}
+
+	@PostMapping("/import")
+	public BulkImport.Report importCustomers(InputStream body,
+			@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+			@RequestParam(required = false) String format) throws IOException {
+		RecordReader reader = new RecordReader(body, RecordFormat.of(format, contentType));
+		return BulkImport.run(reader, validator,
+				fields -> new CreateCustomerRequest(fields.get("name"), fields.get("cpf"), fields.get("phone"),
+						fields.get("address")),
+				customerService::createAll);
+	}
+
 	public record CustomerResponse(String id, String name, String cpf, String phone, String address) {
 		public static CustomerResponse from(CustomerService.Customer customer) {
 			return new CustomerResponse(customer.id(), customer.name(), customer.cpf(), customer.phone(),
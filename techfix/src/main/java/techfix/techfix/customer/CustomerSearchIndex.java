@@ -0,0 +1,160 @@
+package techfix.techfix.customer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import techfix.techfix.common.TextFolding;
+import techfix.techfix.customer.CustomerService.Customer;
+
+final class CustomerSearchIndex {
+
+	private static final int GRAM = 2;
+
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Set<String>> postings = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Character, Set<String>> initials = new ConcurrentHashMap<>();
+
+	void add(Customer customer) {
+		Entry entry = Entry.of(customer);
+		entries.put(customer.id(), entry);
+
+		Set<String> grams = new HashSet<>();
+		collectGrams(entry.id(), grams);
+		collectGrams(entry.name(), grams);
+		collectGrams(entry.cpf(), grams);
+		for (String gram : grams) {
+			postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(customer.id());
+		}
+
+		Set<Character> starts = new HashSet<>();
+		collectInitials(entry.name(), starts);
+		if (!entry.cpf().isEmpty()) {
+			starts.add(entry.cpf().charAt(0));
+		}
+		for (Character initial : starts) {
+			initials.computeIfAbsent(initial, key -> ConcurrentHashMap.newKeySet()).add(customer.id());
+		}
+	}
+
+	List<Customer> search(String query, int limit) {
+		String text = TextFolding.fold(query.trim());
+		String digits = TextFolding.digits(query);
+		// um dígito solto no meio do texto ("joao 1") não identifica CPF nenhum: é descartado em vez de casar
+		// com todo CPF que contenha o dígito
+		if (digits.length() == 1 && !digits.equals(text)) {
+			text = text.replaceFirst("\\s*" + digits + "\\s*", " ").trim();
+			digits = "";
+		}
+		if (text.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+
+		String tokenPrefix = " " + text;
+		PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Match.ORDER.reversed());
+		for (String id : candidates(text, digits)) {
+			Entry entry = entries.get(id);
+			if (entry == null) {
+				continue;
+			}
+			int rank = entry.rank(text, tokenPrefix, digits);
+			if (rank < 0) {
+				continue;
+			}
+			best.offer(new Match(entry, rank));
+			if (best.size() > limit) {
+				best.poll();
+			}
+		}
+
+		List<Match> ordered = new ArrayList<>(best);
+		ordered.sort(Match.ORDER);
+		return ordered.stream().map(match -> match.entry().customer()).toList();
+	}
+
+	private Collection<String> candidates(String text, String digits) {
+		// primeira tecla do autocomplete: só nomes com uma palavra começando pela letra, ou CPFs pelo dígito
+		if (text.length() < GRAM) {
+			return initials.getOrDefault(text.charAt(0), Set.of());
+		}
+
+		Set<String> byText = rarestPosting(text);
+		if (digits.isEmpty() || digits.equals(text)) {
+			return byText;
+		}
+
+		Set<String> byDigits = rarestPosting(digits);
+		if (byText.isEmpty()) {
+			return byDigits;
+		}
+		if (byDigits.isEmpty()) {
+			return byText;
+		}
+		Set<String> union = new HashSet<>(byText);
+		union.addAll(byDigits);
+		return union;
+	}
+
+	private Set<String> rarestPosting(String probe) {
+		Set<String> rarest = null;
+		for (int i = 0; i + GRAM <= probe.length(); i++) {
+			Set<String> posting = postings.get(probe.substring(i, i + GRAM));
+			if (posting == null) {
+				return Set.of();
+			}
+			if (rarest == null || posting.size() < rarest.size()) {
+				rarest = posting;
+			}
+		}
+		return rarest != null ? rarest : Set.of();
+	}
+
+	private static void collectInitials(String name, Set<Character> starts) {
+		for (int i = 0; i < name.length(); i++) {
+			if (name.charAt(i) != ' ' && (i == 0 || name.charAt(i - 1) == ' ')) {
+				starts.add(name.charAt(i));
+			}
+		}
+	}
+
+	private static void collectGrams(String value, Set<String> grams) {
+		for (int i = 0; i + GRAM <= value.length(); i++) {
+			grams.add(value.substring(i, i + GRAM));
+		}
+	}
+
+	private record Entry(Customer customer, String id, String name, String cpf) {
+
+		static Entry of(Customer customer) {
+			return new Entry(customer, TextFolding.fold(customer.id()), TextFolding.fold(customer.name()),
+					TextFolding.digits(customer.cpf()));
+		}
+
+		int rank(String text, String tokenPrefix, String digits) {
+			boolean cpfMatch = !digits.isEmpty() && cpf.contains(digits);
+			if (id.equals(text) || (cpfMatch && cpf.length() == digits.length())) {
+				return 0;
+			}
+			if (name.startsWith(text) || name.contains(tokenPrefix)) {
+				return 1;
+			}
+			if (cpfMatch || id.contains(text) || name.contains(text)) {
+				return 2;
+			}
+			return -1;
+		}
+	}
+
+	private record Match(Entry entry, int rank) {
+
+		static final Comparator<Match> ORDER = Comparator.comparingInt(Match::rank)
+				.thenComparing(match -> match.entry().name())
+				.thenComparing(match -> match.entry().id());
+	}
+}
@@ -2,27 +2,56 @@ package techfix.techfix.customer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 import org.springframework.stereotype.Service;
 
+import techfix.techfix.common.Keyset;
+import techfix.techfix.common.Page;
+import techfix.techfix.common.TextFolding;
+import techfix.techfix.customer.CustomerController.CreateCustomerRequest;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.IdAllocator;
+import techfix.techfix.persistence.SequenceStore;
+
 @Service
 public class CustomerService {
 
+	public static final int DEFAULT_SEARCH_LIMIT = 20;
+
+	private static final String DUPLICATE_CPF = "Já existe cliente cadastrado com o CPF informado";
+
 	private final ConcurrentMap<String, Customer> customers = new ConcurrentHashMap<>();
-	private final AtomicInteger customerCounter = new AtomicInteger(4);
+	private final NavigableSet<String> sortedIds = new ConcurrentSkipListSet<>(Keyset.ID_ORDER);
+	private final ConcurrentMap<String, String> cpfIndex = new ConcurrentHashMap<>();
+	private final AtomicLong version = new AtomicLong();
+	private final CustomerSearchIndex searchIndex = new CustomerSearchIndex();
+	private final EntityRepository<Customer> repository;
+	private final IdAllocator ids;
 
-	public CustomerService() {
-		customers.put("CLI-001", new Customer("CLI-001", "Luana Costa", "123.456.789-00", "(11) 98765-4321",
+	public CustomerService(EntityRepository<Customer> repository, SequenceStore sequences) {
+		this.repository = repository;
+		this.ids = new IdAllocator(sequences, "customers");
+		List<Customer> stored = repository.loadAll();
+		if (!stored.isEmpty()) {
+			stored.forEach(this::register);
+			return;
+		}
+
+		seed(new Customer("CLI-001", "Luana Costa", "123.456.789-00", "(11) 98765-4321",
 				"Rua das Flores, 123, Centro - São Paulo/SP - 01234-567"));
-		customers.put("CLI-002", new Customer("CLI-002", "Carlos Henrique", "234.567.890-11", "(11) 97654-3210",
+		seed(new Customer("CLI-002", "Carlos Henrique", "234.567.890-11", "(11) 97654-3210",
 				"Av. Paulista, 1000, Bela Vista - São Paulo/SP - 01310-100"));
-		customers.put("CLI-003", new Customer("CLI-003", "Maria Silva", "345.678.901-22", "(11) 96543-2109",
+		seed(new Customer("CLI-003", "Maria Silva", "345.678.901-22", "(11) 96543-2109",
 				"Rua Augusta, 500, Consolação - São Paulo/SP - 01305-000"));
-		customers.put("CLI-004", new Customer("CLI-004", "João Santos", "456.789.012-33", "(11) 95432-1098",
+		seed(new Customer("CLI-004", "João Santos", "456.789.012-33", "(11) 95432-1098",
 				"Rua dos Três Irmãos, 200, Butantã - São Paulo/SP - 05360-000"));
 	}
 
@@ -30,26 +59,59 @@ public class CustomerService {
 		return new ArrayList<>(customers.values());
 	}
 
+	public long version() {
+		return version.get();
+	}
+
+	public int size() {
+		return customers.size();
+	}
+
+	public Iterable<Customer> inIdOrder() {
+		return () -> sortedIds.stream().map(customers::get).filter(Objects::nonNull).iterator();
+	}
+
+	public Page<Customer> page(String cursor, int limit) {
+		return Keyset.page(sortedIds, Keyset.decode(cursor), limit, customers::get, customer -> true, id -> id);
+	}
+
 	public List<Customer> search(String query) {
-		String normalized = query.toLowerCase();
-		String digits = query.replaceAll("[^0-9]", "");
+		return search(query, DEFAULT_SEARCH_LIMIT);
+	}
 
-		return customers.values().stream().filter(customer -> customer.id().toLowerCase().contains(normalized)
-				|| customer.name().toLowerCase().contains(normalized)
-				|| customer.cpf().replaceAll("[^0-9]", "").contains(digits)).toList();
+	public List<Customer> search(String query, int limit) {
+		return searchIndex.search(query, limit);
 	}
 
 	public Customer create(String name, String cpf, String phone, String address) {
-		boolean cpfInUse = customers.values().stream()
-				.anyMatch(existing -> existing.cpf().equalsIgnoreCase(cpf));
-		if (cpfInUse) {
-			throw new IllegalArgumentException("Já existe cliente cadastrado com o CPF informado");
+		Customer created = claim(name, cpf, phone, address);
+		if (created == null) {
+			throw new IllegalArgumentException(DUPLICATE_CPF);
 		}
 
-		String id = "CLI-" + String.format("%03d", customerCounter.incrementAndGet());
-		Customer customer = new Customer(id, name.trim(), cpf, phone.trim(), address.trim());
-		customers.put(id, customer);
-		return customer;
+		register(created);
+		repository.save(created);
+		version.incrementAndGet();
+		return created;
+	}
+
+	public List<Customer> createAll(List<CreateCustomerRequest> requests, BiConsumer<Integer, String> rejected) {
+		List<Customer> created = new ArrayList<>(requests.size());
+		for (int i = 0; i < requests.size(); i++) {
+			CreateCustomerRequest request = requests.get(i);
+			Customer customer = claim(request.name(), request.cpf(), request.phone(), request.address());
+			if (customer == null) {
+				rejected.accept(i, DUPLICATE_CPF);
+				continue;
+			}
+			register(customer);
+			created.add(customer);
+		}
+		repository.saveAll(created);
+		if (!created.isEmpty()) {
+			version.incrementAndGet();
+		}
+		return created;
 	}
 
 	public Optional<Customer> findById(String id) {
@@ -60,6 +122,37 @@ public class CustomerService {
 		return findById(id).orElseThrow(() -> new IllegalArgumentException("Cliente com ID %s não encontrado".formatted(id)));
 	}
 
+	// reservar um id pode ir ao banco ou ao disco (bloco novo da sequência), então acontece fora de qualquer
+	// lock do índice e só para CPFs ainda livres; um id se perde apenas quando duas requisições disputam o mesmo CPF
+	private Customer claim(String name, String cpf, String phone, String address) {
+		String key = TextFolding.digits(cpf);
+		if (cpfIndex.containsKey(key)) {
+			return null;
+		}
+		String id = "CLI-" + String.format("%03d", ids.next());
+		if (cpfIndex.putIfAbsent(key, id) != null) {
+			return null;
+		}
+		return new Customer(id, name.trim(), cpf, phone.trim(), address.trim());
+	}
+
+	private void seed(Customer customer) {
+		register(customer);
+		repository.save(customer);
+	}
+
+	private void register(Customer customer) {
+		ids.advancePast(sequenceOf(customer.id()));
+		cpfIndex.putIfAbsent(TextFolding.digits(customer.cpf()), customer.id());
+		customers.put(customer.id(), customer);
+		sortedIds.add(customer.id());
+		searchIndex.add(customer);
+	}
+
+	private static long sequenceOf(String id) {
+		return Long.parseLong(id.substring(id.lastIndexOf('-') + 1));
+	}
+
 	public record Customer(String id, String name, String cpf, String phone, String address) {
 	}
 }
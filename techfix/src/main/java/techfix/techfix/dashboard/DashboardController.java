@@ -1,13 +1,20 @@
 package techfix.techfix.dashboard;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import techfix.techfix.common.ConditionalGet;
 import techfix.techfix.ticket.TicketService;
 import techfix.techfix.ticket.TicketService.TicketStatus;
 
@@ -15,26 +22,49 @@ import techfix.techfix.ticket.TicketService.TicketStatus;
 @RequestMapping("/api/dashboard")
 public class DashboardController {
 
+	private static final int PENDING_LIMIT = 50;
 	private static final DateTimeFormatter NEXT_APPOINTMENT_FORMAT = DateTimeFormatter.ofPattern("dd/MM HH:mm");
+	private static final DateTimeFormatter VERSION_MINUTE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
 	private final TicketService ticketService;
+	private final DashboardStream dashboardStream;
+	private final ConditionalGet conditionalGet;
 
-	public DashboardController(TicketService ticketService) {
+	public DashboardController(TicketService ticketService, DashboardStream dashboardStream,
+			ConditionalGet conditionalGet) {
 		this.ticketService = ticketService;
+		this.dashboardStream = dashboardStream;
+		this.conditionalGet = conditionalGet;
 	}
 
 	@GetMapping
-	public DashboardSummary dashboard() {
-		var allTickets = ticketService.findAll();
-		var pendingTickets = allTickets.stream().filter(t -> t.status() != TicketStatus.FINALIZADO).toList();
+	public ResponseEntity<byte[]> dashboard(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		String version = ticketService.version() + "-" + LocalDateTime.now().format(VERSION_MINUTE_FORMAT);
+		return conditionalGet.respond(ifNoneMatch, "dashboard", version, "", () -> ResponseEntity.ok(summary()));
+	}
+
+	public DashboardSummary summary() {
+		return new DashboardSummary(pendingCount(ticketService), 6,
+				LocalDateTime.now().plusHours(2).format(NEXT_APPOINTMENT_FORMAT),
+				ticketService.countCreatedOn(LocalDate.now(TicketService.ZONE)), pendingTickets(ticketService));
+	}
+
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream() {
+		return dashboardStream.subscribe(this::summary);
+	}
+
+	static int pendingCount(TicketService ticketService) {
+		return ticketService.countByStatus(TicketStatus.TRIAGEM) + ticketService.countByStatus(TicketStatus.EM_ANDAMENTO);
+	}
 
-		return new DashboardSummary(pendingTickets.size(), 6,
-				LocalDateTime.now().plusHours(2).format(NEXT_APPOINTMENT_FORMAT), allTickets.size(),
-				pendingTickets.stream().map(this::convertTicket).toList());
+	static List<Ticket> pendingTickets(TicketService ticketService) {
+		return ticketService.recentPending(PENDING_LIMIT).stream().map(DashboardController::convertTicket).toList();
 	}
 
-	private Ticket convertTicket(techfix.techfix.ticket.TicketService.Ticket ticket) {
+	private static Ticket convertTicket(techfix.techfix.ticket.TicketService.Ticket ticket) {
 		return new Ticket(ticket.id(), ticket.customerName(), ticket.device(), ticket.status().name(),
-				ticket.entryDate());
+				TicketService.DATE_FORMAT.format(ticket.entryTime()));
 	}
 
 	public record DashboardSummary(int pendingTickets, int techniciansAvailable, String nextAppointment,
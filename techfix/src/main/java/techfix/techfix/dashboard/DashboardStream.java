@@ -0,0 +1,286 @@
+package techfix.techfix.dashboard;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import jakarta.annotation.PreDestroy;
+import techfix.techfix.dashboard.DashboardController.DashboardSummary;
+import techfix.techfix.dashboard.DashboardController.Ticket;
+import techfix.techfix.ticket.TicketService;
+
+@Component
+public class DashboardStream {
+
+	private static final Logger log = LoggerFactory.getLogger(DashboardStream.class);
+
+	private final TicketService ticketService;
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean dirty = new AtomicBoolean();
+	private final ScheduledExecutorService flusher;
+	private final ExecutorService senders;
+	private final int bufferedEvents;
+	private final long heartbeatNanos;
+	private final long sendTimeoutNanos;
+	private Map<String, Ticket> published;
+	private int publishedPending;
+	private int publishedToday;
+	private long lastEventNanos = System.nanoTime();
+	private long sequence;
+
+	public DashboardStream(TicketService ticketService,
+			@Value("${techfix.dashboard.stream.coalesce:250ms}") Duration coalesce,
+			@Value("${techfix.dashboard.stream.heartbeat:15s}") Duration heartbeat,
+			@Value("${techfix.dashboard.stream.buffered-events:32}") int bufferedEvents,
+			@Value("${techfix.dashboard.stream.send-timeout:10s}") Duration sendTimeout,
+			@Value("${techfix.dashboard.stream.sender-threads:4}") int senderThreads) {
+		this.ticketService = ticketService;
+		this.bufferedEvents = bufferedEvents;
+		this.heartbeatNanos = heartbeat.toNanos();
+		this.sendTimeoutNanos = sendTimeout.toNanos();
+		// o envio ao cliente é bloqueante e não é interrompível: um pool fixo drena os assinantes, e uma escrita
+		// parada só termina pelo timeout de escrita do servidor (server.tomcat.connection-timeout), que limita
+		// quanto tempo um cliente parado ocupa uma thread de envio
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(senderThreads, senderThreads, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), daemonThreads("dashboard-sse"));
+		pool.allowCoreThreadTimeOut(true);
+		this.senders = pool;
+		this.flusher = Executors.newSingleThreadScheduledExecutor(daemonThreads("dashboard-flusher"));
+		ticketService.onChange(ticket -> dirty.set(true));
+		flusher.scheduleWithFixedDelay(this::flush, coalesce.toMillis(), coalesce.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	public SseEmitter subscribe(Supplier<DashboardSummary> snapshot) {
+		return subscribe(snapshot, new SseEmitter(0L));
+	}
+
+	SseEmitter subscribe(Supplier<DashboardSummary> snapshot, SseEmitter emitter) {
+		Subscriber subscriber = new Subscriber(emitter);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(() -> subscribers.remove(subscriber));
+		emitter.onError(error -> subscribers.remove(subscriber));
+		synchronized (this) {
+			// publica o que estiver pendente e monta o snapshot a partir do próprio estado publicado: os deltas
+			// seguintes partem exatamente do que o novo assinante recebeu
+			dirty.set(false);
+			publishDelta();
+			DashboardSummary summary = snapshot.get();
+			subscriber.offer(SseEmitter.event().name("snapshot").id(Long.toString(sequence))
+					.data(new DashboardSummary(publishedPending, summary.techniciansAvailable(),
+							summary.nextAppointment(), publishedToday, List.copyOf(published.values()))));
+			subscribers.add(subscriber);
+		}
+		return emitter;
+	}
+
+	public int subscribers() {
+		return subscribers.size();
+	}
+
+	@PreDestroy
+	void shutdown() {
+		flusher.shutdownNow();
+		senders.shutdownNow();
+		subscribers.forEach(subscriber -> subscriber.emitter.complete());
+		subscribers.clear();
+	}
+
+	private void flush() {
+		try {
+			expireStalledSends();
+			if (dirty.getAndSet(false)) {
+				publishDelta();
+			} else if (System.nanoTime() - lastEventNanos >= heartbeatNanos) {
+				broadcast(SseEmitter.event().comment("keep-alive"));
+			}
+		} catch (RuntimeException ex) {
+			log.warn("Falha ao publicar atualização do painel", ex);
+		}
+	}
+
+	private synchronized void publishDelta() {
+		Map<String, Ticket> previous = baseline();
+		Map<String, Ticket> current = pendingTickets();
+		List<Ticket> added = new ArrayList<>();
+		List<Ticket> changed = new ArrayList<>();
+		for (Ticket ticket : current.values()) {
+			Ticket before = previous.get(ticket.id());
+			if (before == null) {
+				added.add(ticket);
+			} else if (!before.equals(ticket)) {
+				changed.add(ticket);
+			}
+		}
+		List<String> removed = new ArrayList<>();
+		for (String id : previous.keySet()) {
+			if (!current.containsKey(id)) {
+				removed.add(id);
+			}
+		}
+		int pending = DashboardController.pendingCount(ticketService);
+		int today = ticketService.countCreatedOn(LocalDate.now(TicketService.ZONE));
+		published = current;
+		if (added.isEmpty() && changed.isEmpty() && removed.isEmpty() && pending == publishedPending
+				&& today == publishedToday) {
+			return;
+		}
+		publishedPending = pending;
+		publishedToday = today;
+		broadcast(SseEmitter.event().name("delta").id(Long.toString(++sequence))
+				.data(new DashboardDelta(added, changed, removed, pending, today)));
+	}
+
+	private Map<String, Ticket> baseline() {
+		if (published == null) {
+			published = pendingTickets();
+			publishedPending = DashboardController.pendingCount(ticketService);
+			publishedToday = ticketService.countCreatedOn(LocalDate.now(TicketService.ZONE));
+		}
+		return published;
+	}
+
+	private Map<String, Ticket> pendingTickets() {
+		Map<String, Ticket> pending = new LinkedHashMap<>();
+		for (Ticket ticket : DashboardController.pendingTickets(ticketService)) {
+			pending.put(ticket.id(), ticket);
+		}
+		return pending;
+	}
+
+	private void expireStalledSends() {
+		long now = System.nanoTime();
+		for (Subscriber subscriber : subscribers) {
+			subscriber.expireIfStalled(now);
+		}
+	}
+
+	private void broadcast(SseEventBuilder event) {
+		lastEventNanos = System.nanoTime();
+		for (Subscriber subscriber : subscribers) {
+			subscriber.offer(event);
+		}
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger sequence = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	public record DashboardDelta(List<Ticket> added, List<Ticket> changed, List<String> removed,
+			int pendingTickets, int todayTickets) {
+	}
+
+	private final class Subscriber implements Runnable {
+
+		private final SseEmitter emitter;
+		private final ArrayBlockingQueue<SseEventBuilder> pending = new ArrayBlockingQueue<>(bufferedEvents);
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private boolean sending;
+		private long sendStartedNanos;
+		private boolean expired;
+
+		Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		void offer(SseEventBuilder event) {
+			if (!pending.offer(event)) {
+				subscribers.remove(this);
+				pending.clear();
+				completeUnlessSending();
+				log.info("Cliente do painel não acompanhou {} eventos pendentes; conexão encerrada", bufferedEvents);
+				return;
+			}
+			if (draining.compareAndSet(false, true)) {
+				senders.execute(this);
+			}
+		}
+
+		// o emitter serializa escritas: completar enquanto um envio está parado bloquearia quem chamou, então nesse
+		// caso quem completa é a própria thread de envio, ao sair
+		private synchronized void completeUnlessSending() {
+			expired = true;
+			if (!sending) {
+				emitter.complete();
+			}
+		}
+
+		// tira o cliente da difusão sem tocar no emitter: a escrita parada falha pelo timeout do servidor e a
+		// própria thread de envio encerra a conexão com erro ao sair
+		synchronized void expireIfStalled(long now) {
+			if (!sending || expired || now - sendStartedNanos < sendTimeoutNanos) {
+				return;
+			}
+			subscribers.remove(this);
+			pending.clear();
+			expired = true;
+			log.info("Cliente do painel não recebeu um evento em {} ms; conexão encerrada",
+					TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+		}
+
+		private synchronized void beginSend() {
+			sending = true;
+			sendStartedNanos = System.nanoTime();
+		}
+
+		private synchronized boolean endSend() {
+			sending = false;
+			return expired;
+		}
+
+		@Override
+		public void run() {
+			try {
+				SseEventBuilder event;
+				while ((event = pending.poll()) != null) {
+					beginSend();
+					try {
+						emitter.send(event);
+					} finally {
+						if (endSend()) {
+							emitter.completeWithError(new IOException("Envio ao cliente do painel excedeu o limite"));
+							return;
+						}
+					}
+				}
+			} catch (IOException | IllegalStateException ex) {
+				subscribers.remove(this);
+				pending.clear();
+				return;
+			} finally {
+				draining.set(false);
+			}
+			if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+				senders.execute(this);
+			}
+		}
+	}
+}
@@ -1,10 +1,16 @@
 package techfix.techfix.inventory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -16,26 +22,56 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import techfix.techfix.common.BulkImport;
+import techfix.techfix.common.ConditionalGet;
+import techfix.techfix.common.Keyset;
+import techfix.techfix.common.RecordFormat;
+import techfix.techfix.common.RecordReader;
+import techfix.techfix.common.RecordWriter;
+import techfix.techfix.common.RecordWriter.Column;
+import techfix.techfix.inventory.InventoryService.InventoryItem;
 import techfix.techfix.report.PdfReportService;
+import techfix.techfix.report.ReportJobService;
 
 @RestController
 @RequestMapping("/api/inventory")
 public class InventoryController {
 
+	private static final List<Column<InventoryItem>> EXPORT_COLUMNS = List.of(
+			new Column<>("id", InventoryItem::id),
+			new Column<>("type", InventoryItem::type),
+			new Column<>("brand", InventoryItem::brand),
+			new Column<>("quantity", InventoryItem::quantity),
+			new Column<>("price", InventoryItem::price));
+
 	private final InventoryService inventoryService;
 	private final PdfReportService pdfReportService;
+	private final ReportJobService reportJobService;
+	private final Validator validator;
+	private final ConditionalGet conditionalGet;
 
-	public InventoryController(InventoryService inventoryService, PdfReportService pdfReportService) {
+	public InventoryController(InventoryService inventoryService, PdfReportService pdfReportService,
+			ReportJobService reportJobService, Validator validator, ConditionalGet conditionalGet) {
 		this.inventoryService = inventoryService;
 		this.pdfReportService = pdfReportService;
+		this.reportJobService = reportJobService;
+		this.validator = validator;
+		this.conditionalGet = conditionalGet;
 	}
 
 	@GetMapping
-	public List<InventoryService.InventoryItem> getAllItems() {
-		return inventoryService.findAll();
+	public ResponseEntity<byte[]> getAllItems(
+			@RequestParam(required = false) @Min(1) @Max(Keyset.MAX_LIMIT) Integer limit,
+			@RequestParam(required = false) String cursor,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		return conditionalGet.respond(ifNoneMatch, "inventory", inventoryService.version(), limit + "|" + cursor,
+				() -> Keyset.ok(inventoryService.page(cursor, Keyset.limit(limit))));
 	}
 
 	@PostMapping
@@ -43,12 +79,32 @@ public class InventoryController {
 		return inventoryService.create(request.type(), request.brand(), request.quantity(), request.price());
 	}
 
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportItems(@RequestParam(required = false) String format,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		return RecordWriter.export("estoque", RecordFormat.of(format, null), acceptEncoding, EXPORT_COLUMNS,
+				inventoryService.inIdOrder());
+	}
+
+	@PostMapping("/import")
+	public BulkImport.Report importItems(InputStream body,
+			@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+			@RequestParam(required = false) String format) throws IOException {
+		RecordReader reader = new RecordReader(body, RecordFormat.of(format, contentType));
+		return BulkImport.run(reader, validator,
+				fields -> new CreateInventoryItemRequest(fields.get("type"), fields.get("brand"),
+						BulkImport.integer(fields, "quantity"), BulkImport.decimal(fields, "price")),
+				inventoryService::createAll);
+	}
+
 	@GetMapping("/report")
-	public ResponseEntity<byte[]> generateInventoryReport() {
-		byte[] pdf = pdfReportService.generateInventoryReport(inventoryService.snapshot());
+	public ResponseEntity<StreamingResponseBody> generateInventoryReport() {
+		Consumer<OutputStream> render = reportJobService.reserve("inventory",
+				stream -> pdfReportService.writeInventoryReport(inventoryService.inIdOrder(), stream));
 		return ResponseEntity.ok()
 				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=estoque-techfix.pdf")
-				.contentType(MediaType.APPLICATION_PDF).body(pdf);
+				.contentType(MediaType.APPLICATION_PDF)
+				.body(render::accept);
 	}
 
 	public record CreateInventoryItemRequest(
@@ -2,50 +2,198 @@ package techfix.techfix.inventory;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 import org.springframework.stereotype.Service;
 
+import techfix.techfix.common.ConflictException;
+import techfix.techfix.common.Keyset;
+import techfix.techfix.common.Page;
+import techfix.techfix.inventory.InventoryController.CreateInventoryItemRequest;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.IdAllocator;
+import techfix.techfix.persistence.SequenceStore;
+
 @Service
 public class InventoryService {
 
 	private final ConcurrentMap<String, InventoryItem> inventory = new ConcurrentHashMap<>();
+	private final NavigableSet<String> sortedIds = new ConcurrentSkipListSet<>(Keyset.ID_ORDER);
+	private final ConcurrentMap<String, String> typeBrandIndex = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, IdAllocator> idSequences = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, AtomicInteger> available = new ConcurrentHashMap<>();
+	private final AtomicLong version = new AtomicLong();
+	private final EntityRepository<InventoryItem> repository;
+	private final SequenceStore sequences;
+
+	public InventoryService(EntityRepository<InventoryItem> repository, SequenceStore sequences) {
+		this.repository = repository;
+		this.sequences = sequences;
+		List<InventoryItem> stored = repository.loadAll();
+		if (!stored.isEmpty()) {
+			stored.forEach(this::register);
+			return;
+		}
 
-	public InventoryService() {
-		inventory.put("PEC-001", new InventoryItem("PEC-001", "Compressor", "Brastemp", 5, new BigDecimal("899.90")));
-		inventory.put("PEC-002", new InventoryItem("PEC-002", "Termostato", "Consul", 12, new BigDecimal("140.00")));
-		inventory.put("PEC-003", new InventoryItem("PEC-003", "Resistência", "Electrolux", 8, new BigDecimal("210.50")));
-		inventory.put("PEC-004", new InventoryItem("PEC-004", "Painel LCD", "Samsung", 3, new BigDecimal("1250.00")));
-		inventory.put("PEC-005", new InventoryItem("PEC-005", "Bomba de Água", "Brastemp", 6, new BigDecimal("320.00")));
+		seed(new InventoryItem("PEC-001", "Compressor", "Brastemp", 5, new BigDecimal("899.90")));
+		seed(new InventoryItem("PEC-002", "Termostato", "Consul", 12, new BigDecimal("140.00")));
+		seed(new InventoryItem("PEC-003", "Resistência", "Electrolux", 8, new BigDecimal("210.50")));
+		seed(new InventoryItem("PEC-004", "Painel LCD", "Samsung", 3, new BigDecimal("1250.00")));
+		seed(new InventoryItem("PEC-005", "Bomba de Água", "Brastemp", 6, new BigDecimal("320.00")));
 	}
 
 	public List<InventoryItem> findAll() {
 		return new ArrayList<>(inventory.values());
 	}
 
+	public long version() {
+		return version.get();
+	}
+
+	public int size() {
+		return inventory.size();
+	}
+
+	public Page<InventoryItem> page(String cursor, int limit) {
+		return Keyset.page(sortedIds, Keyset.decode(cursor), limit, inventory::get, item -> true, id -> id);
+	}
+
 	public InventoryItem create(String type, String brand, int quantity, BigDecimal price) {
-		String id = generateId(type, brand);
-		String existingId = findExistingId(type, brand);
-		if (existingId != null) {
-			InventoryItem existing = inventory.get(existingId);
-			BigDecimal itemPrice = price != null ? price : existing.price();
+		InventoryItem item = upsert(type, brand, quantity, price);
+		inventory.computeIfPresent(item.id(), (id, current) -> {
+			repository.save(current);
+			return current;
+		});
+		version.incrementAndGet();
+		return item;
+	}
+
+	public int available(String id) {
+		return counter(id).get();
+	}
+
+	public void reserve(String id, int quantity) {
+		AtomicInteger counter = counter(id);
+		int current;
+		do {
+			current = counter.get();
+			if (current < quantity) {
+				throw new ConflictException("Estoque insuficiente para %s: disponível %d, solicitado %d"
+						.formatted(id, current, quantity));
+			}
+		} while (!counter.compareAndSet(current, current - quantity));
+	}
+
+	public void release(String id, int quantity) {
+		counter(id).addAndGet(quantity);
+	}
+
+	public InventoryItem commit(String id, int quantity) {
+		InventoryItem committed = inventory.computeIfPresent(id, (key, existing) -> {
 			InventoryItem updated = new InventoryItem(existing.id(), existing.type(), existing.brand(),
-					existing.quantity() + quantity, itemPrice);
-			inventory.put(existingId, updated);
+					existing.quantity() - quantity, existing.price());
+			repository.save(updated);
 			return updated;
+		});
+		if (committed == null) {
+			throw new IllegalArgumentException("Peça %s não encontrada".formatted(id));
 		}
+		version.incrementAndGet();
+		return committed;
+	}
 
-		BigDecimal sanitizedPrice = price != null ? price : BigDecimal.ZERO;
-		InventoryItem item = new InventoryItem(id, type.trim(), brand.trim(), quantity, sanitizedPrice);
-		inventory.put(id, item);
-		return item;
+	public void createAll(List<CreateInventoryItemRequest> requests, BiConsumer<Integer, String> rejected) {
+		Map<String, InventoryItem> touched = new LinkedHashMap<>();
+		for (int i = 0; i < requests.size(); i++) {
+			CreateInventoryItemRequest request = requests.get(i);
+			try {
+				InventoryItem item = upsert(request.type(), request.brand(), request.quantity(), request.price());
+				touched.put(item.id(), item);
+			} catch (IllegalArgumentException ex) {
+				rejected.accept(i, ex.getMessage());
+			}
+		}
+		if (touched.isEmpty()) {
+			return;
+		}
+		// o lote vai ao repositório de uma vez, fora dos locks; se outra requisição alterou uma peça depois
+		// da leitura, o valor atual é regravado sob o lock dela e prevalece
+		repository.saveAll(touched.values());
+		for (InventoryItem written : touched.values()) {
+			inventory.computeIfPresent(written.id(), (id, current) -> {
+				if (!current.equals(written)) {
+					repository.save(current);
+				}
+				return current;
+			});
+		}
+		version.incrementAndGet();
 	}
 
-	public Collection<InventoryItem> snapshot() {
-		return new ArrayList<>(inventory.values());
+	public Iterable<InventoryItem> inIdOrder() {
+		return () -> sortedIds.stream().map(inventory::get).filter(Objects::nonNull).iterator();
+	}
+
+	// cadastra ou repõe só em memória; quem chama grava o valor atual da peça no repositório
+	private InventoryItem upsert(String type, String brand, int quantity, BigDecimal price) {
+		String key = typeBrandKey(type, brand);
+		// o id pode exigir um bloco novo da sequência (banco ou disco): é reservado fora do lock do índice, e só
+		// para pares tipo/marca ainda não cadastrados
+		String reserved = typeBrandIndex.containsKey(key) ? null : generateId(type, brand);
+		InventoryItem[] created = new InventoryItem[1];
+		String id = reserved == null ? typeBrandIndex.get(key) : typeBrandIndex.computeIfAbsent(key, ignored -> {
+			BigDecimal sanitizedPrice = price != null ? price : BigDecimal.ZERO;
+			created[0] = new InventoryItem(reserved, type.trim(), brand.trim(), quantity, sanitizedPrice);
+			store(created[0]);
+			return reserved;
+		});
+		if (created[0] != null) {
+			return created[0];
+		}
+
+		InventoryItem restocked = inventory.compute(id, (itemId, existing) -> {
+			BigDecimal itemPrice = price != null ? price : existing.price();
+			return new InventoryItem(existing.id(), existing.type(), existing.brand(), existing.quantity() + quantity,
+					itemPrice);
+		});
+		available.get(id).addAndGet(quantity);
+		return restocked;
+	}
+
+	private void seed(InventoryItem item) {
+		register(item);
+		repository.save(item);
+	}
+
+	private void register(InventoryItem item) {
+		store(item);
+		typeBrandIndex.putIfAbsent(typeBrandKey(item.type(), item.brand()), item.id());
+		restoreSequence(item.id());
+	}
+
+	private void store(InventoryItem item) {
+		available.putIfAbsent(item.id(), new AtomicInteger(item.quantity()));
+		inventory.put(item.id(), item);
+		sortedIds.add(item.id());
+	}
+
+	private AtomicInteger counter(String id) {
+		AtomicInteger counter = available.get(id);
+		if (counter == null) {
+			throw new IllegalArgumentException("Peça %s não encontrada".formatted(id));
+		}
+		return counter;
 	}
 
 	private String generateId(String type, String brand) {
@@ -53,22 +201,27 @@ public class InventoryService {
 		String brandCode = brand.substring(0, Math.min(3, brand.length())).toUpperCase();
 		String base = typeCode + "-" + brandCode;
 
-		int maxNum = inventory.values().stream().filter(item -> item.id().startsWith("PEC-" + base + "-")).mapToInt(item -> {
-			try {
-				String numPart = item.id().substring(item.id().lastIndexOf("-") + 1);
-				return Integer.parseInt(numPart);
-			} catch (Exception e) {
-				return 0;
-			}
-		}).max().orElse(0);
+		return "PEC-" + base + "-" + String.format("%03d", sequence(base).next());
+	}
+
+	private void restoreSequence(String id) {
+		int separator = id.lastIndexOf('-');
+		if (!id.startsWith("PEC-") || separator <= "PEC-".length()) {
+			return;
+		}
+		try {
+			sequence(id.substring("PEC-".length(), separator)).advancePast(Long.parseLong(id.substring(separator + 1)));
+		} catch (NumberFormatException ex) {
+			// ids fora do padrão PEC-TIP-MAR-NNN não participam da sequência
+		}
+	}
 
-		return "PEC-" + base + "-" + String.format("%03d", maxNum + 1);
+	private IdAllocator sequence(String base) {
+		return idSequences.computeIfAbsent(base, key -> new IdAllocator(sequences, "inventory." + key));
 	}
 
-	private String findExistingId(String type, String brand) {
-		return inventory.values().stream()
-				.filter(item -> item.type().equalsIgnoreCase(type) && item.brand().equalsIgnoreCase(brand))
-				.map(InventoryItem::id).findFirst().orElse(null);
+	private static String typeBrandKey(String type, String brand) {
+		return type.trim().toLowerCase(Locale.ROOT) + '\u0000' + brand.trim().toLowerCase(Locale.ROOT);
 	}
 
 	public record InventoryItem(String id, String type, String brand, int quantity, BigDecimal price) {
@@ -0,0 +1,79 @@
+package techfix.techfix.inventory;
+
+import java.time.Instant;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import techfix.techfix.inventory.StockReservationService.Reservation;
+import techfix.techfix.inventory.StockReservationService.ReservationLine;
+import techfix.techfix.inventory.StockReservationService.ReservationStatus;
+import techfix.techfix.ticket.TicketService;
+
+@RestController
+@RequestMapping("/api/tickets/{ticketId}/reservations")
+public class ReservationController {
+
+	private final StockReservationService reservationService;
+	private final TicketService ticketService;
+
+	public ReservationController(StockReservationService reservationService, TicketService ticketService) {
+		this.reservationService = reservationService;
+		this.ticketService = ticketService;
+	}
+
+	@GetMapping
+	public List<ReservationResponse> listReservations(@PathVariable String ticketId) {
+		ticketService.getRequired(ticketId);
+		return reservationService.findByTicket(ticketId).stream().map(ReservationResponse::from).toList();
+	}
+
+	@PostMapping
+	public ResponseEntity<ReservationResponse> reserve(@PathVariable String ticketId,
+			@Valid @RequestBody ReservationRequest request) {
+		ticketService.getRequired(ticketId);
+		List<ReservationLine> lines = request.items().stream()
+				.map(item -> new ReservationLine(item.itemId(), item.quantity())).toList();
+		return ResponseEntity.status(HttpStatus.CREATED)
+				.body(ReservationResponse.from(reservationService.reserve(ticketId, lines)));
+	}
+
+	@PostMapping("/{reservationId}/commit")
+	public ReservationResponse commit(@PathVariable String ticketId, @PathVariable String reservationId) {
+		return ReservationResponse.from(reservationService.commit(ticketId, reservationId));
+	}
+
+	@PostMapping("/{reservationId}/release")
+	public ReservationResponse release(@PathVariable String ticketId, @PathVariable String reservationId) {
+		return ReservationResponse.from(reservationService.release(ticketId, reservationId));
+	}
+
+	public record ReservationRequest(@NotNull @Size(min = 1, message = "Informe ao menos uma peça") @Valid List<Item> items) {
+
+		public record Item(
+				@NotBlank(message = "Código da peça é obrigatório") String itemId,
+				@Min(value = 1, message = "Quantidade mínima é 1") int quantity) {
+		}
+	}
+
+	public record ReservationResponse(String id, String ticketId, ReservationStatus status,
+			List<ReservationLine> items, Instant createdAt, Instant expiresAt) {
+		public static ReservationResponse from(Reservation reservation) {
+			return new ReservationResponse(reservation.id(), reservation.ticketId(), reservation.status(),
+					reservation.lines(), reservation.createdAt(), reservation.expiresAt());
+		}
+	}
+}
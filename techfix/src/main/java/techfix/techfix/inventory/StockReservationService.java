@@ -0,0 +1,188 @@
+package techfix.techfix.inventory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import techfix.techfix.common.ConflictException;
+
+@Service
+public class StockReservationService {
+
+	private static final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+
+	private final InventoryService inventoryService;
+	private final ConcurrentMap<String, Reservation> reservations = new ConcurrentHashMap<>();
+	// ids por chamado, mantido no reserve e no esquecimento: a listagem de um chamado não varre todas as reservas
+	private final ConcurrentMap<String, Set<String>> byTicket = new ConcurrentHashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+	private final Duration ttl;
+	private final ScheduledExecutorService sweeper;
+
+	public StockReservationService(InventoryService inventoryService,
+			@Value("${techfix.inventory.reservation-ttl:15m}") Duration ttl) {
+		this.inventoryService = inventoryService;
+		this.ttl = ttl;
+		this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "reservation-sweeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long sweepMillis = Math.max(1000L, ttl.toMillis() / 4);
+		sweeper.scheduleWithFixedDelay(() -> expireBefore(Instant.now()), sweepMillis, sweepMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	public Reservation reserve(String ticketId, List<ReservationLine> lines) {
+		List<ReservationLine> held = new ArrayList<>(lines.size());
+		try {
+			for (ReservationLine line : lines) {
+				inventoryService.reserve(line.itemId(), line.quantity());
+				held.add(line);
+			}
+		} catch (RuntimeException ex) {
+			held.forEach(line -> inventoryService.release(line.itemId(), line.quantity()));
+			throw ex;
+		}
+		Instant now = Instant.now();
+		Reservation reservation = new Reservation("RES-" + sequence.incrementAndGet(), ticketId, List.copyOf(lines),
+				now, now.plus(ttl));
+		reservations.put(reservation.id(), reservation);
+		byTicket.compute(ticketId, (key, ids) -> {
+			Set<String> indexed = ids != null ? ids : ConcurrentHashMap.newKeySet();
+			indexed.add(reservation.id());
+			return indexed;
+		});
+		return reservation;
+	}
+
+	public Reservation commit(String ticketId, String reservationId) {
+		Reservation reservation = getRequired(ticketId, reservationId);
+		settle(reservation, ReservationStatus.COMMITTED);
+		reservation.lines().forEach(line -> inventoryService.commit(line.itemId(), line.quantity()));
+		return reservation;
+	}
+
+	public Reservation release(String ticketId, String reservationId) {
+		Reservation reservation = getRequired(ticketId, reservationId);
+		settle(reservation, ReservationStatus.RELEASED);
+		reservation.lines().forEach(line -> inventoryService.release(line.itemId(), line.quantity()));
+		return reservation;
+	}
+
+	public List<Reservation> findByTicket(String ticketId) {
+		return byTicket.getOrDefault(ticketId, Set.of()).stream().map(reservations::get).filter(Objects::nonNull)
+				.sorted(Comparator.comparing(Reservation::createdAt).thenComparing(Reservation::id)).toList();
+	}
+
+	void expireBefore(Instant cutoff) {
+		Instant forgetBefore = cutoff.minus(ttl);
+		for (Reservation reservation : reservations.values()) {
+			if (reservation.expiresAt().isAfter(cutoff)) {
+				continue;
+			}
+			if (reservation.status.compareAndSet(ReservationStatus.HELD, ReservationStatus.EXPIRED)) {
+				reservation.lines().forEach(line -> inventoryService.release(line.itemId(), line.quantity()));
+				log.info("Reserva {} do chamado {} expirou e devolveu o estoque", reservation.id(),
+						reservation.ticketId());
+			} else if (reservation.expiresAt().isBefore(forgetBefore)) {
+				forget(reservation);
+			}
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		sweeper.shutdownNow();
+	}
+
+	private void forget(Reservation reservation) {
+		reservations.remove(reservation.id());
+		byTicket.computeIfPresent(reservation.ticketId(), (key, ids) -> {
+			ids.remove(reservation.id());
+			return ids.isEmpty() ? null : ids;
+		});
+	}
+
+	private Reservation getRequired(String ticketId, String reservationId) {
+		Reservation reservation = reservations.get(reservationId);
+		if (reservation == null || !reservation.ticketId().equals(ticketId)) {
+			throw new IllegalArgumentException(
+					"Reserva %s não encontrada para o chamado %s".formatted(reservationId, ticketId));
+		}
+		return reservation;
+	}
+
+	private static void settle(Reservation reservation, ReservationStatus next) {
+		if (!reservation.status.compareAndSet(ReservationStatus.HELD, next)) {
+			throw new ConflictException(
+					"Reserva %s já está %s".formatted(reservation.id(), reservation.status()));
+		}
+	}
+
+	public enum ReservationStatus {
+		HELD, COMMITTED, RELEASED, EXPIRED
+	}
+
+	public record ReservationLine(String itemId, int quantity) {
+	}
+
+	public static final class Reservation {
+
+		private final String id;
+		private final String ticketId;
+		private final List<ReservationLine> lines;
+		private final Instant createdAt;
+		private final Instant expiresAt;
+		private final AtomicReference<ReservationStatus> status = new AtomicReference<>(ReservationStatus.HELD);
+
+		Reservation(String id, String ticketId, List<ReservationLine> lines, Instant createdAt, Instant expiresAt) {
+			this.id = id;
+			this.ticketId = ticketId;
+			this.lines = lines;
+			this.createdAt = createdAt;
+			this.expiresAt = expiresAt;
+		}
+
+		public String id() {
+			return id;
+		}
+
+		public String ticketId() {
+			return ticketId;
+		}
+
+		public List<ReservationLine> lines() {
+			return lines;
+		}
+
+		public Instant createdAt() {
+			return createdAt;
+		}
+
+		public Instant expiresAt() {
+			return expiresAt;
+		}
+
+		public ReservationStatus status() {
+			return status.get();
+		}
+	}
+}
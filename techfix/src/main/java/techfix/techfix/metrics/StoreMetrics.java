@@ -0,0 +1,45 @@
+package techfix.techfix.metrics;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.inventory.InventoryService;
+import techfix.techfix.report.PdfCache;
+import techfix.techfix.report.ReportJobService;
+import techfix.techfix.ticket.TicketService;
+
+@Component
+public class StoreMetrics implements MeterBinder {
+
+	private final CustomerService customerService;
+	private final InventoryService inventoryService;
+	private final TicketService ticketService;
+	private final ReportJobService reportJobService;
+	private final PdfCache pdfCache;
+
+	public StoreMetrics(CustomerService customerService, InventoryService inventoryService,
+			TicketService ticketService, ReportJobService reportJobService, PdfCache pdfCache) {
+		this.customerService = customerService;
+		this.inventoryService = inventoryService;
+		this.ticketService = ticketService;
+		this.reportJobService = reportJobService;
+		this.pdfCache = pdfCache;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("techfix.store.size", customerService, CustomerService::size)
+				.tag("store", "customers").register(registry);
+		Gauge.builder("techfix.store.size", inventoryService, InventoryService::size)
+				.tag("store", "inventory").register(registry);
+		Gauge.builder("techfix.store.size", ticketService, TicketService::size)
+				.tag("store", "tickets").register(registry);
+		Gauge.builder("techfix.reports.queue.depth", reportJobService, ReportJobService::queueDepth)
+				.register(registry);
+		Gauge.builder("techfix.reports.cache.size", pdfCache, cache -> cache.stats().bytes())
+				.baseUnit("bytes").register(registry);
+	}
+}
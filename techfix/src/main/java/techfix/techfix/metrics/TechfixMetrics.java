@@ -0,0 +1,81 @@
+package techfix.techfix.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+@Component
+public class TechfixMetrics {
+
+	private final MeterRegistry registry;
+	private final ConcurrentMap<String, PdfMeters> pdfMeters = new ConcurrentHashMap<>();
+	private final Timer searchLatency;
+	private final DistributionSummary searchResults;
+	private final ClassValue<Counter> errors = new ClassValue<>() {
+		@Override
+		protected Counter computeValue(Class<?> type) {
+			return Counter.builder("techfix.errors")
+					.description("Exceções tratadas pelos controllers")
+					.tag("exception", type.getSimpleName())
+					.register(registry);
+		}
+	};
+
+	public TechfixMetrics(MeterRegistry registry) {
+		this.registry = registry;
+		this.searchLatency = Timer.builder("techfix.customers.search")
+				.description("Latência da busca de clientes")
+				.publishPercentileHistogram()
+				.register(registry);
+		this.searchResults = DistributionSummary.builder("techfix.customers.search.results")
+				.description("Quantidade de clientes retornados por busca")
+				.register(registry);
+	}
+
+	public static TechfixMetrics noop() {
+		return new TechfixMetrics(new CompositeMeterRegistry());
+	}
+
+	public void recordPdf(String kind, long nanos, long bytes) {
+		PdfMeters meters = pdfMeters.get(kind);
+		if (meters == null) {
+			meters = pdfMeters.computeIfAbsent(kind, this::pdfMeters);
+		}
+		meters.duration().record(nanos, TimeUnit.NANOSECONDS);
+		meters.size().record(bytes);
+	}
+
+	public void recordSearch(long nanos, int results) {
+		searchLatency.record(nanos, TimeUnit.NANOSECONDS);
+		searchResults.record(results);
+	}
+
+	public void countError(Throwable error) {
+		errors.get(error.getClass()).increment();
+	}
+
+	private PdfMeters pdfMeters(String kind) {
+		return new PdfMeters(
+				Timer.builder("techfix.pdf.render")
+						.description("Tempo de geração de PDF por tipo de documento")
+						.tag("kind", kind)
+						.publishPercentileHistogram()
+						.register(registry),
+				DistributionSummary.builder("techfix.pdf.size")
+						.description("Tamanho do PDF gerado por tipo de documento")
+						.baseUnit("bytes")
+						.tag("kind", kind)
+						.register(registry));
+	}
+
+	private record PdfMeters(Timer duration, DistributionSummary size) {
+	}
+}
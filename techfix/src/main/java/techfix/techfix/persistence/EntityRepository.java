@@ -0,0 +1,28 @@
+package techfix.techfix.persistence;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EntityRepository<T> {
+
+	List<T> loadAll();
+
+	void save(T entity);
+
+	default void saveAll(Collection<T> entities) {
+		entities.forEach(this::save);
+	}
+
+	static <T> EntityRepository<T> none() {
+		return new EntityRepository<>() {
+			@Override
+			public List<T> loadAll() {
+				return List.of();
+			}
+
+			@Override
+			public void save(T entity) {
+			}
+		};
+	}
+}
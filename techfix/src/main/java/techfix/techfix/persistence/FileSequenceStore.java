@@ -0,0 +1,73 @@
+package techfix.techfix.persistence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class FileSequenceStore implements SequenceStore {
+
+	private static final ConcurrentMap<Path, Object> JVM_LOCKS = new ConcurrentHashMap<>();
+
+	private final Path file;
+	private final Path lockFile;
+	private final Object jvmLock;
+	private final int blockSize;
+
+	public FileSequenceStore(Path directory, int blockSize) throws IOException {
+		Files.createDirectories(directory);
+		this.file = directory.resolve("sequences.properties");
+		this.lockFile = directory.resolve("sequences.lock");
+		this.jvmLock = JVM_LOCKS.computeIfAbsent(lockFile.toAbsolutePath().normalize(), path -> new Object());
+		this.blockSize = blockSize;
+	}
+
+	@Override
+	public int blockSize() {
+		return blockSize;
+	}
+
+	// o FileLock protege contra outros processos; o monitor por arquivo, contra outras threads e instâncias
+	// desta JVM, que o FileLock não cobre
+	@Override
+	public long lease(String sequence, long minimum) {
+		synchronized (jvmLock) {
+			return leaseLocked(sequence, minimum);
+		}
+	}
+
+	private long leaseLocked(String sequence, long minimum) {
+		try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+				FileLock lock = channel.lock()) {
+			Properties sequences = new Properties();
+			if (Files.exists(file)) {
+				try (InputStream input = Files.newInputStream(file)) {
+					sequences.load(input);
+				}
+			}
+			long start = Math.max(Long.parseLong(sequences.getProperty(sequence, "0")), minimum);
+			sequences.setProperty(sequence, Long.toString(start + blockSize));
+
+			Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+			try (OutputStream output = Files.newOutputStream(temporary)) {
+				sequences.store(output, null);
+			}
+			try (FileChannel written = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+				written.force(true);
+			}
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return start;
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Falha ao reservar bloco de ids para " + sequence, ex);
+		}
+	}
+}
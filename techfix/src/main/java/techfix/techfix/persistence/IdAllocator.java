@@ -0,0 +1,50 @@
+package techfix.techfix.persistence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class IdAllocator {
+
+	private final SequenceStore store;
+	private final String sequence;
+	private final AtomicLong floor = new AtomicLong();
+	private volatile Block block = new Block(0, 0);
+
+	public IdAllocator(SequenceStore store, String sequence) {
+		this.store = store;
+		this.sequence = sequence;
+	}
+
+	public long next() {
+		while (true) {
+			Block current = block;
+			long id = current.next.getAndIncrement();
+			if (id >= current.end) {
+				refill(current);
+			} else if (id > floor.get()) {
+				return id;
+			}
+		}
+	}
+
+	public void advancePast(long id) {
+		floor.accumulateAndGet(id, Math::max);
+	}
+
+	private synchronized void refill(Block exhausted) {
+		if (block == exhausted) {
+			long start = store.lease(sequence, floor.get() + 1);
+			block = new Block(start, start + store.blockSize());
+		}
+	}
+
+	private static final class Block {
+
+		private final AtomicLong next;
+		private final long end;
+
+		private Block(long start, long end) {
+			this.next = new AtomicLong(start);
+			this.end = end;
+		}
+	}
+}
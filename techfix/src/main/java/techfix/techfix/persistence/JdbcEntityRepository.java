@@ -0,0 +1,33 @@
+package techfix.techfix.persistence;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import techfix.techfix.persistence.WriteBehindWriter.Channel;
+
+public class JdbcEntityRepository<T> implements EntityRepository<T> {
+
+	private final JdbcTemplate jdbc;
+	private final String selectSql;
+	private final RowMapper<T> rowMapper;
+	private final Channel<T> channel;
+
+	public JdbcEntityRepository(JdbcTemplate jdbc, String selectSql, RowMapper<T> rowMapper, Channel<T> channel) {
+		this.jdbc = jdbc;
+		this.selectSql = selectSql;
+		this.rowMapper = rowMapper;
+		this.channel = channel;
+	}
+
+	@Override
+	public List<T> loadAll() {
+		return jdbc.query(selectSql, rowMapper);
+	}
+
+	@Override
+	public void save(T entity) {
+		channel.enqueue(entity);
+	}
+}
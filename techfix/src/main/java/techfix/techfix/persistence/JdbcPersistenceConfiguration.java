@@ -0,0 +1,60 @@
+package techfix.techfix.persistence;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.inventory.InventoryService.InventoryItem;
+import techfix.techfix.ticket.TicketService.Ticket;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "techfix.persistence", name = "mode", havingValue = "jdbc")
+@ImportAutoConfiguration(DataSourceAutoConfiguration.class)
+public class JdbcPersistenceConfiguration {
+
+	@Bean(destroyMethod = "close")
+	WriteBehindWriter writeBehindWriter(@Value("${techfix.persistence.batch-size:500}") int batchSize,
+			@Value("${techfix.persistence.flush-interval:200ms}") Duration flushInterval,
+			@Value("${techfix.persistence.max-attempts:" + WriteBehindWriter.DEFAULT_MAX_ATTEMPTS + "}") int maxAttempts) {
+		return new WriteBehindWriter(batchSize, flushInterval, maxAttempts);
+	}
+
+	@Bean
+	JdbcRepositories jdbcRepositories(DataSource dataSource, WriteBehindWriter writeBehindWriter,
+			@Value("${techfix.persistence.jdbc.initialize-schema:false}") boolean initializeSchema) {
+		if (initializeSchema) {
+			JdbcRepositories.initializeSchema(dataSource);
+		}
+		return new JdbcRepositories(new JdbcTemplate(dataSource), writeBehindWriter);
+	}
+
+	@Bean
+	SequenceStore sequenceStore(DataSource dataSource,
+			@Value("${techfix.persistence.id-block-size:100}") int blockSize) {
+		return new JdbcSequenceStore(new JdbcTemplate(dataSource), blockSize);
+	}
+
+	@Bean
+	EntityRepository<Customer> customerRepository(JdbcRepositories jdbcRepositories) {
+		return jdbcRepositories.customers();
+	}
+
+	@Bean
+	EntityRepository<InventoryItem> inventoryRepository(JdbcRepositories jdbcRepositories) {
+		return jdbcRepositories.inventory();
+	}
+
+	@Bean
+	EntityRepository<Ticket> ticketRepository(JdbcRepositories jdbcRepositories) {
+		return jdbcRepositories.tickets();
+	}
+}
@@ -0,0 +1,101 @@
+package techfix.techfix.persistence;
+
+import java.time.Instant;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.inventory.InventoryService.InventoryItem;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+public class JdbcRepositories {
+
+	private static final String SELECT_CUSTOMERS = "SELECT id, name, cpf, phone, address FROM customers";
+	private static final String UPSERT_CUSTOMER = """
+			INSERT INTO customers (id, name, cpf, phone, address) VALUES (?, ?, ?, ?, ?)
+			ON DUPLICATE KEY UPDATE name = VALUES(name), cpf = VALUES(cpf), phone = VALUES(phone),
+			address = VALUES(address)""";
+
+	private static final String SELECT_INVENTORY = "SELECT id, type, brand, quantity, price FROM inventory_items";
+	private static final String UPSERT_INVENTORY_ITEM = """
+			INSERT INTO inventory_items (id, type, brand, quantity, price) VALUES (?, ?, ?, ?, ?)
+			ON DUPLICATE KEY UPDATE quantity = VALUES(quantity), price = VALUES(price)""";
+
+	private static final String SELECT_TICKETS = """
+			SELECT t.id, t.customer_id, c.name AS customer_name, t.device, t.description, t.status, t.entry_date
+			FROM tickets t JOIN customers c ON c.id = t.customer_id""";
+	private static final String UPSERT_TICKET = """
+			INSERT INTO tickets (id, customer_id, device, description, status, entry_date) VALUES (?, ?, ?, ?, ?, ?)
+			ON DUPLICATE KEY UPDATE device = VALUES(device), description = VALUES(description),
+			status = VALUES(status)""";
+
+	private final EntityRepository<Customer> customers;
+	private final EntityRepository<InventoryItem> inventory;
+	private final EntityRepository<Ticket> tickets;
+
+	public JdbcRepositories(JdbcTemplate jdbc, WriteBehindWriter writer) {
+		this.customers = new JdbcEntityRepository<>(jdbc, SELECT_CUSTOMERS,
+				(rs, row) -> new Customer(rs.getString("id"), rs.getString("name"), rs.getString("cpf"),
+						rs.getString("phone"), rs.getString("address")),
+				writer.channel("customers", Customer::id, batch -> batchUpdate(jdbc, UPSERT_CUSTOMER, batch,
+						(ps, customer) -> {
+							ps.setString(1, customer.id());
+							ps.setString(2, customer.name());
+							ps.setString(3, customer.cpf());
+							ps.setString(4, customer.phone());
+							ps.setString(5, customer.address());
+						})));
+		this.inventory = new JdbcEntityRepository<>(jdbc, SELECT_INVENTORY,
+				(rs, row) -> new InventoryItem(rs.getString("id"), rs.getString("type"), rs.getString("brand"),
+						rs.getInt("quantity"), rs.getBigDecimal("price")),
+				writer.channel("inventory", InventoryItem::id, batch -> batchUpdate(jdbc, UPSERT_INVENTORY_ITEM, batch,
+						(ps, item) -> {
+							ps.setString(1, item.id());
+							ps.setString(2, item.type());
+							ps.setString(3, item.brand());
+							ps.setInt(4, item.quantity());
+							ps.setBigDecimal(5, item.price());
+						})));
+		this.tickets = new JdbcEntityRepository<>(jdbc, SELECT_TICKETS,
+				(rs, row) -> new Ticket(rs.getString("id"), rs.getString("customer_id"), rs.getString("customer_name"),
+						rs.getString("device"), rs.getString("description"), TicketStatus.valueOf(rs.getString("status")),
+						Instant.ofEpochMilli(rs.getLong("entry_date"))),
+				writer.channel("tickets", Ticket::id, batch -> batchUpdate(jdbc, UPSERT_TICKET, batch,
+						(ps, ticket) -> {
+							ps.setString(1, ticket.id());
+							ps.setString(2, ticket.customerId());
+							ps.setString(3, ticket.device());
+							ps.setString(4, ticket.description());
+							ps.setString(5, ticket.status().name());
+							ps.setLong(6, ticket.entryTime().toEpochMilli());
+						})));
+	}
+
+	public EntityRepository<Customer> customers() {
+		return customers;
+	}
+
+	public EntityRepository<InventoryItem> inventory() {
+		return inventory;
+	}
+
+	public EntityRepository<Ticket> tickets() {
+		return tickets;
+	}
+
+	public static void initializeSchema(DataSource dataSource) {
+		new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(dataSource);
+	}
+
+	private static <T> void batchUpdate(JdbcTemplate jdbc, String sql, List<T> batch,
+			ParameterizedPreparedStatementSetter<T> setter) {
+		jdbc.batchUpdate(sql, batch, batch.size(), setter);
+	}
+}
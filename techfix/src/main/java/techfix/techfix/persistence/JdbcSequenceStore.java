@@ -0,0 +1,46 @@
+package techfix.techfix.persistence;
+
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class JdbcSequenceStore implements SequenceStore {
+
+	private static final String SELECT_NEXT = "SELECT next_value FROM id_sequences WHERE name = ?";
+	private static final String INSERT_NEXT = "INSERT INTO id_sequences (name, next_value) VALUES (?, ?)";
+	private static final String ADVANCE_NEXT = "UPDATE id_sequences SET next_value = ? WHERE name = ? AND next_value = ?";
+
+	private final JdbcTemplate jdbc;
+	private final int blockSize;
+
+	public JdbcSequenceStore(JdbcTemplate jdbc, int blockSize) {
+		this.jdbc = jdbc;
+		this.blockSize = blockSize;
+	}
+
+	@Override
+	public int blockSize() {
+		return blockSize;
+	}
+
+	// compare-and-set sobre a linha: sem transação explícita, e quem perder a corrida só relê e tenta de novo
+	@Override
+	public long lease(String sequence, long minimum) {
+		while (true) {
+			List<Long> current = jdbc.query(SELECT_NEXT, (rs, row) -> rs.getLong(1), sequence);
+			if (current.isEmpty()) {
+				try {
+					jdbc.update(INSERT_NEXT, sequence, minimum + blockSize);
+					return minimum;
+				} catch (DuplicateKeyException ex) {
+					continue;
+				}
+			}
+			long start = Math.max(current.get(0), minimum);
+			if (jdbc.update(ADVANCE_NEXT, start + blockSize, sequence, current.get(0)) == 1) {
+				return start;
+			}
+		}
+	}
+}
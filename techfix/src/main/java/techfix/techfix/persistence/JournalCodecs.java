@@ -0,0 +1,86 @@
+package techfix.techfix.persistence;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.inventory.InventoryService.InventoryItem;
+import techfix.techfix.persistence.JournalStore.EntityCodec;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+public final class JournalCodecs {
+
+	public static final byte CUSTOMER = 1;
+	public static final byte INVENTORY_ITEM = 2;
+	public static final byte TICKET = 3;
+
+	public static final EntityCodec<Customer> CUSTOMERS = new EntityCodec<>() {
+		@Override
+		public String id(Customer customer) {
+			return customer.id();
+		}
+
+		@Override
+		public void write(DataOutputStream out, Customer customer) throws IOException {
+			out.writeUTF(customer.name());
+			out.writeUTF(customer.cpf());
+			out.writeUTF(customer.phone());
+			out.writeUTF(customer.address());
+		}
+
+		@Override
+		public Customer read(String id, DataInputStream in) throws IOException {
+			return new Customer(id, in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+		}
+	};
+
+	public static final EntityCodec<InventoryItem> INVENTORY = new EntityCodec<>() {
+		@Override
+		public String id(InventoryItem item) {
+			return item.id();
+		}
+
+		@Override
+		public void write(DataOutputStream out, InventoryItem item) throws IOException {
+			out.writeUTF(item.type());
+			out.writeUTF(item.brand());
+			out.writeInt(item.quantity());
+			out.writeUTF(item.price().toPlainString());
+		}
+
+		@Override
+		public InventoryItem read(String id, DataInputStream in) throws IOException {
+			return new InventoryItem(id, in.readUTF(), in.readUTF(), in.readInt(), new BigDecimal(in.readUTF()));
+		}
+	};
+
+	public static final EntityCodec<Ticket> TICKETS = new EntityCodec<>() {
+		@Override
+		public String id(Ticket ticket) {
+			return ticket.id();
+		}
+
+		@Override
+		public void write(DataOutputStream out, Ticket ticket) throws IOException {
+			out.writeUTF(ticket.customerId());
+			out.writeUTF(ticket.customerName());
+			out.writeUTF(ticket.device());
+			out.writeUTF(ticket.description());
+			out.writeByte(ticket.status().ordinal());
+			out.writeLong(ticket.entryTime().toEpochMilli());
+		}
+
+		@Override
+		public Ticket read(String id, DataInputStream in) throws IOException {
+			return new Ticket(id, in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+					TicketStatus.values()[in.readByte()], Instant.ofEpochMilli(in.readLong()));
+		}
+	};
+
+	private JournalCodecs() {
+	}
+}
@@ -0,0 +1,48 @@
+package techfix.techfix.persistence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.inventory.InventoryService.InventoryItem;
+import techfix.techfix.ticket.TicketService.Ticket;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "techfix.persistence", name = "mode", havingValue = "journal")
+public class JournalPersistenceConfiguration {
+
+	@Bean(destroyMethod = "close")
+	JournalStore journalStore(@Value("${techfix.persistence.journal.directory:data/journal}") Path directory,
+			@Value("${techfix.persistence.journal.snapshot-every:100000}") long snapshotEvery,
+			@Value("${techfix.persistence.journal.fsync:true}") boolean fsync,
+			@Value("${techfix.persistence.journal.queue-capacity:" + JournalStore.DEFAULT_QUEUE_CAPACITY + "}") int queueCapacity)
+			throws IOException {
+		return new JournalStore(directory, snapshotEvery, fsync, queueCapacity);
+	}
+
+	@Bean
+	SequenceStore sequenceStore(@Value("${techfix.persistence.journal.directory:data/journal}") Path directory,
+			@Value("${techfix.persistence.id-block-size:100}") int blockSize) throws IOException {
+		return new FileSequenceStore(directory.resolve("sequences"), blockSize);
+	}
+
+	@Bean
+	EntityRepository<Customer> customerRepository(JournalStore journalStore) {
+		return journalStore.repository(JournalCodecs.CUSTOMER, JournalCodecs.CUSTOMERS);
+	}
+
+	@Bean
+	EntityRepository<InventoryItem> inventoryRepository(JournalStore journalStore) {
+		return journalStore.repository(JournalCodecs.INVENTORY_ITEM, JournalCodecs.INVENTORY);
+	}
+
+	@Bean
+	EntityRepository<Ticket> ticketRepository(JournalStore journalStore) {
+		return journalStore.repository(JournalCodecs.TICKET, JournalCodecs.TICKETS);
+	}
+}
@@ -0,0 +1,406 @@
+package techfix.techfix.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class JournalStore implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(JournalStore.class);
+
+	private static final String JOURNAL_PREFIX = "journal-";
+	private static final String JOURNAL_SUFFIX = ".log";
+	private static final String SNAPSHOT_PREFIX = "snapshot-";
+	private static final String SNAPSHOT_SUFFIX = ".bin";
+	private static final int MAX_FRAME_LENGTH = 1 << 20;
+
+	public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+	private final Path directory;
+	private final long snapshotEvery;
+	private final boolean fsync;
+	private final Map<Byte, Map<String, byte[]>> recovered = new HashMap<>();
+	private final BlockingQueue<byte[]> queue;
+	private final AtomicLong enqueued = new AtomicLong();
+	private final Object commitMonitor = new Object();
+	private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "journal-compactor");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Thread committer;
+
+	private volatile boolean running = true;
+	private long committed;
+	private FileChannel journal;
+	private long segment;
+	private long recordsInSegment;
+
+	public JournalStore(Path directory, long snapshotEvery, boolean fsync) throws IOException {
+		this(directory, snapshotEvery, fsync, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	public JournalStore(Path directory, long snapshotEvery, boolean fsync, int queueCapacity) throws IOException {
+		this.directory = directory;
+		this.queue = new LinkedBlockingQueue<>(queueCapacity);
+		this.snapshotEvery = snapshotEvery;
+		this.fsync = fsync;
+		Files.createDirectories(directory);
+
+		long snapshot = latestSnapshot();
+		if (snapshot > 0) {
+			readFrames(snapshotPath(snapshot), this::recover);
+		}
+		long lastSegment = snapshot;
+		for (long journalSegment : journalSegments()) {
+			if (journalSegment > snapshot) {
+				readFrames(journalPath(journalSegment), this::recover);
+			}
+			lastSegment = Math.max(lastSegment, journalSegment);
+		}
+
+		segment = lastSegment + 1;
+		journal = FileChannel.open(journalPath(segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		committer = new Thread(this::commitLoop, "journal-committer");
+		committer.setDaemon(true);
+		committer.start();
+	}
+
+	public <T> EntityRepository<T> repository(byte type, EntityCodec<T> codec) {
+		return new EntityRepository<>() {
+			@Override
+			public List<T> loadAll() {
+				Map<String, byte[]> payloads;
+				synchronized (recovered) {
+					payloads = recovered.remove(type);
+				}
+				if (payloads == null) {
+					return List.of();
+				}
+				List<T> entities = new ArrayList<>(payloads.size());
+				for (byte[] payload : payloads.values()) {
+					entities.add(decode(payload, codec));
+				}
+				return entities;
+			}
+
+			@Override
+			public void save(T entity) {
+				append(encode(type, codec, entity));
+			}
+		};
+	}
+
+	public void flush() {
+		long target = enqueued.get();
+		synchronized (commitMonitor) {
+			while (committed < target && committer.isAlive()) {
+				try {
+					commitMonitor.wait(100);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		running = false;
+		try {
+			committer.join(TimeUnit.SECONDS.toMillis(30));
+			compactor.shutdown();
+			compactor.awaitTermination(5, TimeUnit.MINUTES);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		journal.close();
+	}
+
+	// save não espera o fsync: um crash perde o que ainda está na fila, no máximo queueCapacity registros mais
+	// o lote em gravação. A fila cheia bloqueia quem salva até o committer liberar espaço
+	private void append(byte[] frame) {
+		try {
+			queue.put(frame);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando espaço na fila do journal", ex);
+		}
+		enqueued.incrementAndGet();
+	}
+
+	private void commitLoop() {
+		List<byte[]> batch = new ArrayList<>();
+		while (running || !queue.isEmpty() || !batch.isEmpty()) {
+			try {
+				if (batch.isEmpty()) {
+					byte[] first = queue.poll(100, TimeUnit.MILLISECONDS);
+					if (first == null) {
+						continue;
+					}
+					batch.add(first);
+					queue.drainTo(batch);
+				}
+				write(batch);
+				batch.clear();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (IOException ex) {
+				log.error("Falha ao gravar o journal; nova tentativa em 1s", ex);
+				sleepQuietly();
+			}
+		}
+	}
+
+	private void write(List<byte[]> frames) throws IOException {
+		int size = 0;
+		for (byte[] frame : frames) {
+			size += frame.length;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		for (byte[] frame : frames) {
+			buffer.put(frame);
+		}
+		buffer.flip();
+		long start = journal.position();
+		try {
+			while (buffer.hasRemaining()) {
+				journal.write(buffer);
+			}
+			if (fsync) {
+				journal.force(false);
+			}
+		} catch (IOException ex) {
+			journal.truncate(start);
+			journal.position(start);
+			throw ex;
+		}
+
+		synchronized (commitMonitor) {
+			committed += frames.size();
+			commitMonitor.notifyAll();
+		}
+		recordsInSegment += frames.size();
+		if (recordsInSegment >= snapshotEvery) {
+			rotate();
+		}
+	}
+
+	private void rotate() throws IOException {
+		journal.force(true);
+		journal.close();
+		long closed = segment;
+		segment++;
+		recordsInSegment = 0;
+		journal = FileChannel.open(journalPath(segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		compactor.execute(() -> compact(closed));
+	}
+
+	private void compact(long upTo) {
+		try {
+			long base = latestSnapshot();
+			Map<String, byte[]> latest = new LinkedHashMap<>();
+			Consumer<byte[]> collect = payload -> latest.put(keyOf(payload), payload);
+			if (base > 0) {
+				readFrames(snapshotPath(base), collect);
+			}
+			for (long journalSegment : journalSegments()) {
+				if (journalSegment > base && journalSegment <= upTo) {
+					readFrames(journalPath(journalSegment), collect);
+				}
+			}
+
+			Path temporary = directory.resolve(SNAPSHOT_PREFIX + sequence(upTo) + ".tmp");
+			try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+				for (byte[] payload : latest.values()) {
+					writeFrame(out, payload);
+				}
+				out.flush();
+				file.getFD().sync();
+			}
+			Files.move(temporary, snapshotPath(upTo), StandardCopyOption.ATOMIC_MOVE);
+
+			if (base > 0) {
+				Files.deleteIfExists(snapshotPath(base));
+			}
+			for (long journalSegment : journalSegments()) {
+				if (journalSegment <= upTo) {
+					Files.deleteIfExists(journalPath(journalSegment));
+				}
+			}
+		} catch (IOException | UncheckedIOException ex) {
+			log.warn("Falha ao compactar o journal até o segmento {}", upTo, ex);
+		}
+	}
+
+	private void recover(byte[] payload) {
+		recovered.computeIfAbsent(payload[0], type -> new LinkedHashMap<>()).put(keyOf(payload), payload);
+	}
+
+	private static <T> byte[] encode(byte type, EntityCodec<T> codec, T entity) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(0);
+			out.writeInt(0);
+			out.writeByte(type);
+			out.writeUTF(codec.id(entity));
+			codec.write(out, entity);
+			out.flush();
+
+			ByteBuffer frame = ByteBuffer.wrap(bytes.toByteArray());
+			int payloadLength = frame.capacity() - 8;
+			CRC32 crc = new CRC32();
+			crc.update(frame.array(), 8, payloadLength);
+			frame.putInt(0, payloadLength);
+			frame.putInt(4, (int) crc.getValue());
+			return frame.array();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static <T> T decode(byte[] payload, EntityCodec<T> codec) {
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1));
+			return codec.read(in.readUTF(), in);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static String keyOf(byte[] payload) {
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1));
+			return payload[0] + ":" + in.readUTF();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static void writeFrame(DataOutputStream out, byte[] payload) throws IOException {
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		out.writeInt(payload.length);
+		out.writeInt((int) crc.getValue());
+		out.write(payload);
+	}
+
+	private static void readFrames(Path path, Consumer<byte[]> consumer) throws IOException {
+		try (InputStream file = Files.newInputStream(path);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+			while (true) {
+				int length;
+				try {
+					length = in.readInt();
+				} catch (EOFException ex) {
+					return;
+				}
+				if (length <= 0 || length > MAX_FRAME_LENGTH) {
+					log.warn("Registro inválido em {}; ignorando o restante do arquivo", path);
+					return;
+				}
+				try {
+					int checksum = in.readInt();
+					byte[] payload = new byte[length];
+					in.readFully(payload);
+					CRC32 crc = new CRC32();
+					crc.update(payload);
+					if ((int) crc.getValue() != checksum) {
+						log.warn("Registro corrompido em {}; ignorando o restante do arquivo", path);
+						return;
+					}
+					consumer.accept(payload);
+				} catch (EOFException ex) {
+					log.warn("Registro incompleto no fim de {}; ignorando", path);
+					return;
+				}
+			}
+		}
+	}
+
+	private long latestSnapshot() throws IOException {
+		long latest = 0;
+		for (long snapshot : segments(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+			latest = Math.max(latest, snapshot);
+		}
+		return latest;
+	}
+
+	private List<Long> journalSegments() throws IOException {
+		return segments(JOURNAL_PREFIX, JOURNAL_SUFFIX);
+	}
+
+	private List<Long> segments(String prefix, String suffix) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.map(path -> path.getFileName().toString())
+					.filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+					.map(name -> Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())))
+					.sorted().toList();
+		}
+	}
+
+	private Path journalPath(long journalSegment) {
+		return directory.resolve(JOURNAL_PREFIX + sequence(journalSegment) + JOURNAL_SUFFIX);
+	}
+
+	private Path snapshotPath(long snapshot) {
+		return directory.resolve(SNAPSHOT_PREFIX + sequence(snapshot) + SNAPSHOT_SUFFIX);
+	}
+
+	private static String sequence(long value) {
+		return "%012d".formatted(value);
+	}
+
+	private static void sleepQuietly() {
+		try {
+			Thread.sleep(1000);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public interface EntityCodec<T> {
+
+		String id(T entity);
+
+		void write(DataOutputStream out, T entity) throws IOException;
+
+		T read(String id, DataInputStream in) throws IOException;
+	}
+}
@@ -0,0 +1,34 @@
+package techfix.techfix.persistence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.inventory.InventoryService.InventoryItem;
+import techfix.techfix.ticket.TicketService.Ticket;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "techfix.persistence", name = "mode", havingValue = "memory", matchIfMissing = true)
+public class MemoryPersistenceConfiguration {
+
+	@Bean
+	SequenceStore sequenceStore() {
+		return SequenceStore.local();
+	}
+
+	@Bean
+	EntityRepository<Customer> customerRepository() {
+		return EntityRepository.none();
+	}
+
+	@Bean
+	EntityRepository<InventoryItem> inventoryRepository() {
+		return EntityRepository.none();
+	}
+
+	@Bean
+	EntityRepository<Ticket> ticketRepository() {
+		return EntityRepository.none();
+	}
+}
@@ -0,0 +1,32 @@
+package techfix.techfix.persistence;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public interface SequenceStore {
+
+	int blockSize();
+
+	// reserva ids [início, início + blockSize()) de forma exclusiva, com início >= minimum
+	long lease(String sequence, long minimum);
+
+	static SequenceStore local() {
+		return local(1024);
+	}
+
+	static SequenceStore local(int blockSize) {
+		ConcurrentMap<String, Long> next = new ConcurrentHashMap<>();
+		return new SequenceStore() {
+			@Override
+			public int blockSize() {
+				return blockSize;
+			}
+
+			@Override
+			public long lease(String sequence, long minimum) {
+				return next.merge(sequence, minimum + blockSize,
+						(current, proposed) -> Math.max(current, minimum) + blockSize) - blockSize;
+			}
+		};
+	}
+}
@@ -0,0 +1,201 @@
+package techfix.techfix.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class WriteBehindWriter implements AutoCloseable {
+
+	public static final int DEFAULT_MAX_ATTEMPTS = 10;
+
+	private static final Logger log = LoggerFactory.getLogger(WriteBehindWriter.class);
+	private static final Logger deadLetters = LoggerFactory.getLogger("techfix.persistence.dead-letter");
+
+	private final List<Channel<?>> channels = new CopyOnWriteArrayList<>();
+	private final AtomicInteger pendingCount = new AtomicInteger();
+	private final AtomicLong flushedCount = new AtomicLong();
+	private final AtomicLong deadLetterCount = new AtomicLong();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+	private final ScheduledExecutorService flusher;
+	private final int batchSize;
+	private final int maxAttempts;
+
+	public WriteBehindWriter(int batchSize, Duration flushInterval) {
+		this(batchSize, flushInterval, DEFAULT_MAX_ATTEMPTS);
+	}
+
+	public WriteBehindWriter(int batchSize, Duration flushInterval, int maxAttempts) {
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "write-behind-flusher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long intervalMillis = flushInterval.toMillis();
+		flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public <T> Channel<T> channel(String name, Function<T, String> keyOf, BatchSink<T> sink) {
+		Channel<T> channel = new Channel<>(name, keyOf, sink);
+		channels.add(channel);
+		return channel;
+	}
+
+	public int pendingCount() {
+		return pendingCount.get();
+	}
+
+	public long flushedCount() {
+		return flushedCount.get();
+	}
+
+	public long deadLetterCount() {
+		return deadLetterCount.get();
+	}
+
+	// cada canal é drenado de forma independente: um destino fora do ar não impede os demais de gravar
+	public synchronized void flush() {
+		flushRequested.set(false);
+		for (Channel<?> channel : channels) {
+			try {
+				channel.drain();
+			} catch (RuntimeException ex) {
+				log.warn("Falha ao gravar lote pendente; nova tentativa no próximo ciclo", ex);
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		flusher.shutdown();
+		try {
+			flusher.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		flush();
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (RuntimeException ex) {
+			log.warn("Falha inesperada no ciclo de gravação", ex);
+		}
+	}
+
+	private void requestFlush() {
+		if (flushRequested.compareAndSet(false, true) && !flusher.isShutdown()) {
+			flusher.execute(this::flushQuietly);
+		}
+	}
+
+	@FunctionalInterface
+	public interface BatchSink<T> {
+		void write(List<T> batch);
+	}
+
+	public final class Channel<T> {
+
+		private final String name;
+		private final Function<T, String> keyOf;
+		private final BatchSink<T> sink;
+		private final ConcurrentMap<String, T> pending = new ConcurrentHashMap<>();
+		private final ConcurrentMap<String, Integer> attempts = new ConcurrentHashMap<>();
+
+		private Channel(String name, Function<T, String> keyOf, BatchSink<T> sink) {
+			this.name = name;
+			this.keyOf = keyOf;
+			this.sink = sink;
+		}
+
+		public void enqueue(T entity) {
+			if (pending.put(keyOf.apply(entity), entity) == null && pendingCount.incrementAndGet() >= batchSize) {
+				requestFlush();
+			}
+		}
+
+		private void drain() {
+			List<T> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+			for (String key : pending.keySet()) {
+				T entity = pending.remove(key);
+				if (entity == null) {
+					continue;
+				}
+				pendingCount.decrementAndGet();
+				batch.add(entity);
+				if (batch.size() == batchSize) {
+					write(batch);
+					batch = new ArrayList<>(batchSize);
+				}
+			}
+			if (!batch.isEmpty()) {
+				write(batch);
+			}
+		}
+
+		private void write(List<T> batch) {
+			try {
+				sink.write(batch);
+				flushedCount.addAndGet(batch.size());
+				batch.forEach(entity -> attempts.remove(keyOf.apply(entity)));
+			} catch (RuntimeException ex) {
+				writeOneByOne(batch, ex);
+			}
+		}
+
+		// o lote falhou: regrava linha a linha para isolar as que o destino rejeita. Uma falha só conta
+		// como tentativa quando outra linha do mesmo lote foi aceita; se nenhuma passou, o destino está
+		// indisponível e tudo volta para a fila sem consumir tentativas
+		private void writeOneByOne(List<T> batch, RuntimeException batchFailure) {
+			Map<T, RuntimeException> failed = new LinkedHashMap<>();
+			for (T entity : batch) {
+				try {
+					sink.write(List.of(entity));
+					flushedCount.incrementAndGet();
+					attempts.remove(keyOf.apply(entity));
+				} catch (RuntimeException ex) {
+					failed.put(entity, ex);
+				}
+			}
+			if (failed.size() == batch.size()) {
+				batch.forEach(this::requeue);
+				throw new IllegalStateException("Falha ao gravar lote de " + name, batchFailure);
+			}
+			failed.forEach((entity, failure) -> {
+				String key = keyOf.apply(entity);
+				if (attempts.merge(key, 1, Integer::sum) < maxAttempts) {
+					requeue(entity);
+				} else {
+					attempts.remove(key);
+					deadLetterCount.incrementAndGet();
+					deadLetters.error("{} {} descartado após {} tentativas: {}", name, key, maxAttempts, entity,
+							failure);
+				}
+			});
+		}
+
+		// uma versão mais nova enfileirada enquanto o lote gravava tem precedência
+		private void requeue(T entity) {
+			if (pending.putIfAbsent(keyOf.apply(entity), entity) == null) {
+				pendingCount.incrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package techfix.techfix.report;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+final class DocumentTemplate<T> {
+
+	private static final float MARGIN = 50f;
+	private static final float LINE_HEIGHT = 16f;
+	static final float TEXT_WIDTH = PDRectangle.A4.getWidth() - 2 * MARGIN;
+
+	private static final float HEADING_SIZE = 18f;
+	private static final float SECTION_SIZE = 12f;
+	private static final float TEXT_SIZE = 11f;
+
+	private final List<Block<T>> blocks;
+
+	private DocumentTemplate(List<Block<T>> blocks) {
+		this.blocks = List.copyOf(blocks);
+	}
+
+	static <T> Builder<T> builder() {
+		return new Builder<>();
+	}
+
+	void render(PDDocument document, T model) throws IOException {
+		try (Layout layout = new Layout(document)) {
+			for (Block<T> block : blocks) {
+				block.write(layout, model);
+			}
+		}
+	}
+
+	static List<String> wrap(String text, FontMetrics metrics, float size, float maxWidth) {
+		if (text == null || text.isBlank()) {
+			return List.of("-");
+		}
+		String normalized = text.indexOf('\r') >= 0 || text.indexOf('\t') >= 0
+				? text.replace("\r", "").replace('\t', ' ')
+				: text;
+
+		List<String> lines = new ArrayList<>(4);
+		int paragraphStart = 0;
+		while (paragraphStart <= normalized.length()) {
+			int paragraphEnd = normalized.indexOf('\n', paragraphStart);
+			if (paragraphEnd < 0) {
+				paragraphEnd = normalized.length();
+			}
+			wrapParagraph(normalized, paragraphStart, paragraphEnd, metrics, size, maxWidth, lines);
+			paragraphStart = paragraphEnd + 1;
+		}
+		return lines;
+	}
+
+	private static void wrapParagraph(String text, int start, int end, FontMetrics metrics, float size,
+			float maxWidth, List<String> lines) {
+		int lineStart = skipSpaces(text, start, end);
+		if (lineStart == end) {
+			lines.add("");
+			return;
+		}
+
+		int lastSpace = -1;
+		float width = 0f;
+		for (int i = lineStart; i < end; i++) {
+			char c = text.charAt(i);
+			if (c == ' ') {
+				lastSpace = i;
+			}
+			width += metrics.advance(c, size);
+			if (width <= maxWidth || i == lineStart) {
+				continue;
+			}
+
+			int breakAt = lastSpace > lineStart ? lastSpace : i;
+			lines.add(text.substring(lineStart, trimEnd(text, lineStart, breakAt)));
+			lineStart = skipSpaces(text, breakAt, end);
+			lastSpace = -1;
+			if (lineStart > i) {
+				i = lineStart - 1;
+				width = 0f;
+			} else {
+				width = metrics.width(text, lineStart, i + 1, size);
+			}
+		}
+		if (lineStart < end) {
+			lines.add(text.substring(lineStart, trimEnd(text, lineStart, end)));
+		}
+	}
+
+	private static int skipSpaces(String text, int from, int end) {
+		while (from < end && text.charAt(from) == ' ') {
+			from++;
+		}
+		return from;
+	}
+
+	private static int trimEnd(String text, int start, int end) {
+		while (end > start && text.charAt(end - 1) == ' ') {
+			end--;
+		}
+		return end;
+	}
+
+	@FunctionalInterface
+	private interface Block<T> {
+		void write(Layout layout, T model) throws IOException;
+	}
+
+	static final class Builder<T> {
+
+		private final List<Block<T>> blocks = new ArrayList<>();
+
+		Builder<T> heading(String text) {
+			return fixed(text, FontMetrics.BOLD, HEADING_SIZE);
+		}
+
+		Builder<T> section(String text) {
+			return fixed(text, FontMetrics.BOLD, SECTION_SIZE);
+		}
+
+		Builder<T> text(String text) {
+			return fixed(text, FontMetrics.REGULAR, TEXT_SIZE);
+		}
+
+		Builder<T> field(String label, Function<T, String> value) {
+			blocks.add((layout, model) -> {
+				String text = value.apply(model);
+				layout.paragraph(label + (text == null || text.isBlank() ? "-" : text));
+			});
+			return this;
+		}
+
+		Builder<T> text(Function<T, String> value) {
+			blocks.add((layout, model) -> layout.paragraph(value.apply(model)));
+			return this;
+		}
+
+		Builder<T> blank() {
+			blocks.add((layout, model) -> layout.blank());
+			return this;
+		}
+
+		Builder<T> when(Predicate<T> condition, Consumer<Builder<T>> section) {
+			Builder<T> nested = new Builder<>();
+			section.accept(nested);
+			List<Block<T>> nestedBlocks = List.copyOf(nested.blocks);
+			blocks.add((layout, model) -> {
+				if (condition.test(model)) {
+					for (Block<T> block : nestedBlocks) {
+						block.write(layout, model);
+					}
+				}
+			});
+			return this;
+		}
+
+		DocumentTemplate<T> build() {
+			return new DocumentTemplate<>(blocks);
+		}
+
+		private Builder<T> fixed(String text, FontMetrics metrics, float size) {
+			List<String> lines = wrap(text, metrics, size, TEXT_WIDTH);
+			blocks.add((layout, model) -> layout.lines(lines, metrics, size));
+			return this;
+		}
+	}
+
+	private static final class Layout implements AutoCloseable {
+
+		private final PDDocument document;
+		private PDPageContentStream content;
+		private float y;
+
+		Layout(PDDocument document) {
+			this.document = document;
+		}
+
+		void paragraph(String text) throws IOException {
+			lines(wrap(text, FontMetrics.REGULAR, TEXT_SIZE, TEXT_WIDTH), FontMetrics.REGULAR, TEXT_SIZE);
+		}
+
+		void lines(List<String> lines, FontMetrics metrics, float size) throws IOException {
+			for (String line : lines) {
+				ensureRoom();
+				content.beginText();
+				content.setFont(metrics.font(), size);
+				content.newLineAtOffset(MARGIN, y);
+				content.showText(line);
+				content.endText();
+				y -= LINE_HEIGHT;
+			}
+		}
+
+		void blank() throws IOException {
+			ensureRoom();
+			y -= LINE_HEIGHT;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (content == null) {
+				ensureRoom();
+			}
+			content.close();
+		}
+
+		private void ensureRoom() throws IOException {
+			if (content != null && y >= MARGIN) {
+				return;
+			}
+			if (content != null) {
+				content.close();
+			}
+			PDPage page = new PDPage(PDRectangle.A4);
+			document.addPage(page);
+			content = new PDPageContentStream(document, page);
+			y = PDRectangle.A4.getHeight() - MARGIN;
+		}
+	}
+}
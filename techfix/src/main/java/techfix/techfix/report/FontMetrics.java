@@ -0,0 +1,62 @@
+package techfix.techfix.report;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+final class FontMetrics {
+
+	static final FontMetrics REGULAR = new FontMetrics(PDType1Font.HELVETICA);
+	static final FontMetrics BOLD = new FontMetrics(PDType1Font.HELVETICA_BOLD);
+
+	private static final int LATIN_1 = 256;
+
+	private final PDFont font;
+	private final float[] latin1 = new float[LATIN_1];
+	private final ConcurrentMap<Character, Float> others = new ConcurrentHashMap<>();
+	private final float fallback;
+
+	private FontMetrics(PDFont font) {
+		this.font = font;
+		this.fallback = measure('?', 500f);
+		for (char c = 0; c < LATIN_1; c++) {
+			latin1[c] = measure(c, fallback);
+		}
+	}
+
+	PDFont font() {
+		return font;
+	}
+
+	float advance(char c, float size) {
+		float units = c < LATIN_1 ? latin1[c] : others.computeIfAbsent(c, key -> measure(key, fallback));
+		return units * size / 1000f;
+	}
+
+	float width(CharSequence text, int start, int end, float size) {
+		float units = 0f;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			units += c < LATIN_1 ? latin1[c] : others.computeIfAbsent(c, key -> measure(key, fallback));
+		}
+		return units * size / 1000f;
+	}
+
+	float width(CharSequence text, float size) {
+		return width(text, 0, text.length(), size);
+	}
+
+	private float measure(char c, float otherwise) {
+		if (Character.isISOControl(c)) {
+			return otherwise;
+		}
+		try {
+			return font.getStringWidth(String.valueOf(c));
+		} catch (IOException | IllegalArgumentException ex) {
+			return otherwise;
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package techfix.techfix.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+final class PagedTable implements Closeable {
+
+	private static final float MARGIN = 50f;
+	private static final float ROW_HEIGHT = 14f;
+	private static final float FONT_SIZE = 9f;
+	private static final String ELLIPSIS = "...";
+	private static final FontMetrics FONT = FontMetrics.REGULAR;
+	private static final FontMetrics BOLD = FontMetrics.BOLD;
+
+	private final PDDocument document;
+	private final String title;
+	private final String subtitle;
+	private final String[] headers;
+	private final float[] widths;
+	private PDPageContentStream content;
+	private float y;
+	private int pages;
+
+	PagedTable(PDDocument document, String title, String subtitle, String[] headers, float[] widths) {
+		this.document = document;
+		this.title = title;
+		this.subtitle = subtitle;
+		this.headers = headers;
+		this.widths = widths;
+	}
+
+	void row(String... cells) throws IOException {
+		ensureRoom(ROW_HEIGHT);
+		writeCells(cells, FONT);
+	}
+
+	void text(String text, boolean bold) throws IOException {
+		ensureRoom(ROW_HEIGHT);
+		show(text, bold ? BOLD : FONT, 10f, MARGIN, y);
+		y -= ROW_HEIGHT + 2f;
+	}
+
+	int pages() {
+		return pages;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (content == null) {
+			startPage();
+		}
+		content.close();
+		content = null;
+	}
+
+	private void ensureRoom(float height) throws IOException {
+		if (content == null || y - height < MARGIN + ROW_HEIGHT) {
+			startPage();
+		}
+	}
+
+	private void startPage() throws IOException {
+		if (content != null) {
+			content.close();
+		}
+		PDPage page = new PDPage(PDRectangle.A4);
+		document.addPage(page);
+		content = new PDPageContentStream(document, page);
+		pages++;
+
+		y = PDRectangle.A4.getHeight() - MARGIN;
+		if (pages == 1) {
+			show(title, BOLD, 18f, MARGIN, y);
+			y -= 22f;
+			show(subtitle, FONT, 11f, MARGIN, y);
+			y -= 28f;
+		} else {
+			show(title + " (continuação)", BOLD, 12f, MARGIN, y);
+			y -= 20f;
+		}
+		writeCells(headers, BOLD);
+
+		content.setLineWidth(0.5f);
+		content.moveTo(MARGIN, y + ROW_HEIGHT - 3f);
+		content.lineTo(PDRectangle.A4.getWidth() - MARGIN, y + ROW_HEIGHT - 3f);
+		content.stroke();
+		show("Página " + pages, FONT, 8f, MARGIN, MARGIN / 2);
+	}
+
+	private void writeCells(String[] cells, FontMetrics font) throws IOException {
+		float x = MARGIN;
+		for (int column = 0; column < widths.length; column++) {
+			String cell = column < cells.length ? cells[column] : null;
+			show(fit(cell, font, widths[column] - 4f), font, FONT_SIZE, x, y);
+			x += widths[column];
+		}
+		y -= ROW_HEIGHT;
+	}
+
+	private void show(String text, FontMetrics font, float size, float x, float baseline) throws IOException {
+		content.beginText();
+		content.setFont(font.font(), size);
+		content.newLineAtOffset(x, baseline);
+		content.showText(text);
+		content.endText();
+	}
+
+	private static String fit(String text, FontMetrics font, float width) {
+		String value = text == null || text.isBlank() ? "-" : text;
+		if (font.width(value, FONT_SIZE) <= width) {
+			return value;
+		}
+		float available = width - font.width(ELLIPSIS, FONT_SIZE);
+		int end = 0;
+		float used = 0f;
+		while (end < value.length() && used + font.advance(value.charAt(end), FONT_SIZE) <= available) {
+			used += font.advance(value.charAt(end), FONT_SIZE);
+			end++;
+		}
+		return value.substring(0, end) + ELLIPSIS;
+	}
+}
@@ -0,0 +1,158 @@
+package techfix.techfix.report;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.ticket.TicketService.Ticket;
+
+@Component
+public class PdfCache {
+
+	private final long maxBytes;
+	private final LinkedHashMap<String, Cached> entries = new LinkedHashMap<>(64, 0.75f, true);
+	private final Map<String, Set<String>> keysByTicket = new HashMap<>();
+	private long bytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public PdfCache(@Value("${techfix.reports.cache.max-bytes:67108864}") long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	public static Key key(String kind, Ticket ticket, Customer customer, Object request) {
+		String subject = digest(ticket + "\n" + customer);
+		String digest = digest(kind + "\n" + PdfReportService.TEMPLATE_VERSION + "\n" + subject + "\n" + request);
+		return new Key(digest, ticket.id(), subject);
+	}
+
+	public synchronized Entry get(Key key) {
+		purgeStale(key);
+		Cached cached = entries.get(key.digest());
+		if (cached == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return cached.entry();
+	}
+
+	public Consumer<OutputStream> through(Key key, Consumer<OutputStream> writer) {
+		return output -> {
+			Entry entry = get(key);
+			if (entry != null) {
+				write(entry, output);
+			} else {
+				render(key, writer, output);
+			}
+		};
+	}
+
+	public void render(Key key, Consumer<OutputStream> writer, OutputStream output) {
+		ByteArrayOutputStream rendered = new ByteArrayOutputStream(16 * 1024);
+		writer.accept(rendered);
+		write(put(key, rendered.toByteArray()), output);
+	}
+
+	public synchronized Stats stats() {
+		return new Stats(entries.size(), bytes, maxBytes, hits, misses, evictions);
+	}
+
+	synchronized Entry put(Key key, byte[] content) {
+		Entry entry = new Entry(content, Instant.now());
+		if (content.length > maxBytes) {
+			return entry;
+		}
+		purgeStale(key);
+		Cached previous = entries.put(key.digest(), new Cached(key, entry));
+		if (previous != null) {
+			bytes -= previous.entry().content().length;
+		}
+		bytes += content.length;
+		keysByTicket.computeIfAbsent(key.ticketId(), id -> new HashSet<>()).add(key.digest());
+
+		Iterator<Cached> eldest = entries.values().iterator();
+		while (bytes > maxBytes && eldest.hasNext()) {
+			Cached evicted = eldest.next();
+			eldest.remove();
+			forget(evicted);
+			evictions++;
+		}
+		return entry;
+	}
+
+	private void purgeStale(Key key) {
+		Set<String> digests = keysByTicket.get(key.ticketId());
+		if (digests == null) {
+			return;
+		}
+		for (String digest : Set.copyOf(digests)) {
+			Cached cached = entries.get(digest);
+			if (cached != null && !cached.key().subject().equals(key.subject())) {
+				entries.remove(digest);
+				forget(cached);
+			}
+		}
+	}
+
+	private void forget(Cached cached) {
+		bytes -= cached.entry().content().length;
+		Set<String> digests = keysByTicket.get(cached.key().ticketId());
+		if (digests != null) {
+			digests.remove(cached.key().digest());
+			if (digests.isEmpty()) {
+				keysByTicket.remove(cached.key().ticketId());
+			}
+		}
+	}
+
+	private static void write(Entry entry, OutputStream output) {
+		try {
+			output.write(entry.content());
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static String digest(String value) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(hash.length * 2);
+			for (byte b : hash) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	public record Key(String digest, String ticketId, String subject) {
+	}
+
+	public record Entry(byte[] content, Instant issuedAt) {
+	}
+
+	private record Cached(Key key, Entry entry) {
+	}
+
+	public record Stats(int entries, long bytes, long maxBytes, long hits, long misses, long evictions) {
+	}
+}
@@ -0,0 +1,66 @@
+package techfix.techfix.report;
+
+import java.net.URI;
+import java.time.Instant;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import techfix.techfix.report.ReportJobService.ReportJob;
+import techfix.techfix.report.ReportJobService.ReportJobStatus;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+	private final ReportJobService reportJobService;
+	private final PdfCache pdfCache;
+
+	public ReportController(ReportJobService reportJobService, PdfCache pdfCache) {
+		this.reportJobService = reportJobService;
+		this.pdfCache = pdfCache;
+	}
+
+	@GetMapping("/cache")
+	public PdfCache.Stats getCacheStats() {
+		return pdfCache.stats();
+	}
+
+	@GetMapping("/{jobId}")
+	public ResponseEntity<?> getReport(@PathVariable String jobId) {
+		ReportJob job = reportJobService.find(jobId)
+				.orElseThrow(() -> new IllegalArgumentException("Relatório %s não encontrado ou expirado".formatted(jobId)));
+
+		return switch (job.status()) {
+			case DONE -> ResponseEntity.ok()
+					.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.fileName())
+					.header("X-Report-Queue-Ms", String.valueOf(job.queuedMillis()))
+					.header("X-Report-Render-Ms", String.valueOf(job.renderMillis()))
+					.contentType(MediaType.APPLICATION_PDF)
+					.body(job.content());
+			case FAILED -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ReportJobResponse.from(job));
+			case PENDING, RUNNING -> ResponseEntity.status(HttpStatus.ACCEPTED).header(HttpHeaders.RETRY_AFTER, "1")
+					.body(ReportJobResponse.from(job));
+		};
+	}
+
+	public static ResponseEntity<ReportJobResponse> accepted(ReportJob job) {
+		return ResponseEntity.accepted().location(URI.create("/api/reports/" + job.id()))
+				.body(ReportJobResponse.from(job));
+	}
+
+	public record ReportJobResponse(String jobId, String kind, ReportJobStatus status, Instant submittedAt,
+			Long queuedMillis, Long renderMillis, Integer sizeBytes, String error) {
+		public static ReportJobResponse from(ReportJob job) {
+			byte[] content = job.content();
+			return new ReportJobResponse(job.id(), job.kind(), job.status(), job.submittedAt(), job.queuedMillis(),
+					job.renderMillis(), content != null ? content.length : null, job.error());
+		}
+	}
+}
@@ -0,0 +1,265 @@
+package techfix.techfix.report;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import techfix.techfix.common.OverloadedException;
+import techfix.techfix.metrics.TechfixMetrics;
+
+@Service
+public class ReportJobService {
+
+	private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+	private final ConcurrentMap<String, ReportJob> jobs = new ConcurrentHashMap<>();
+	private final ThreadPoolExecutor workers;
+	private final ScheduledExecutorService evictor;
+	private final Semaphore renderPermits;
+	private final Duration resultTtl;
+	private final Duration permitTimeout;
+	private final TechfixMetrics metrics;
+
+	public ReportJobService(@Value("${techfix.reports.workers:0}") int workers,
+			@Value("${techfix.reports.queue-capacity:64}") int queueCapacity,
+			@Value("${techfix.reports.result-ttl:10m}") Duration resultTtl,
+			@Value("${techfix.reports.permit-timeout:30s}") Duration permitTimeout, TechfixMetrics metrics) {
+		int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+		this.renderPermits = new Semaphore(threads, true);
+		this.resultTtl = resultTtl;
+		this.permitTimeout = permitTimeout;
+		this.metrics = metrics;
+		this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), daemonThreads("report-worker"),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.evictor = Executors.newSingleThreadScheduledExecutor(daemonThreads("report-evictor"));
+		long sweepMillis = Math.max(1000L, resultTtl.toMillis() / 2);
+		evictor.scheduleWithFixedDelay(this::evictExpired, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public ReportJob submit(String kind, String fileName, Consumer<OutputStream> writer) {
+		ReportJob job = new ReportJob(UUID.randomUUID().toString(), kind, fileName, Instant.now());
+		jobs.put(job.id(), job);
+		try {
+			workers.execute(() -> run(job, writer));
+		} catch (RejectedExecutionException ex) {
+			jobs.remove(job.id());
+			throw new OverloadedException("Fila de relatórios cheia (%d pendentes); tente novamente em instantes"
+					.formatted(workers.getQueue().size()));
+		}
+		return job;
+	}
+
+	public Optional<ReportJob> find(String jobId) {
+		return Optional.ofNullable(jobs.get(jobId));
+	}
+
+	// a permissão é tomada aqui, antes de a resposta ser montada: sem vaga o cliente recebe 503 em vez de um 200
+	// já comprometido com application/pdf; o escritor devolvido é de uso único e a libera ao terminar
+	public Consumer<OutputStream> reserve(String kind, Consumer<OutputStream> writer) {
+		acquirePermit();
+		AtomicBoolean held = new AtomicBoolean(true);
+		return output -> {
+			if (!held.compareAndSet(true, false)) {
+				throw new IllegalStateException("Renderização de " + kind + " já utilizada");
+			}
+			try {
+				CountingOutputStream counted = new CountingOutputStream(output);
+				long start = System.nanoTime();
+				writer.accept(counted);
+				metrics.recordPdf(kind, System.nanoTime() - start, counted.count);
+			} finally {
+				renderPermits.release();
+			}
+		};
+	}
+
+	public int queueDepth() {
+		return workers.getQueue().size();
+	}
+
+	void evictFinishedBefore(Instant cutoff) {
+		jobs.values().removeIf(job -> job.finishedAt() != null && job.finishedAt().isBefore(cutoff));
+	}
+
+	private void evictExpired() {
+		evictFinishedBefore(Instant.now().minus(resultTtl));
+	}
+
+	@PreDestroy
+	void shutdown() {
+		evictor.shutdownNow();
+		workers.shutdownNow();
+	}
+
+	private void run(ReportJob job, Consumer<OutputStream> writer) {
+		try {
+			acquirePermit();
+		} catch (OverloadedException ex) {
+			job.fail(ex.getMessage());
+			return;
+		}
+		try {
+			job.start();
+			long start = System.nanoTime();
+			ByteArrayOutputStream output = new ByteArrayOutputStream(16 * 1024);
+			writer.accept(output);
+			job.complete(output.toByteArray());
+			metrics.recordPdf(job.kind(), System.nanoTime() - start, job.content().length);
+			log.info("Relatório {} ({}) gerado em {} ms após {} ms na fila, {} bytes", job.id(), job.kind(),
+					job.renderMillis(), job.queuedMillis(), job.content().length);
+		} catch (RuntimeException ex) {
+			job.fail(ex.getMessage());
+			log.warn("Falha ao gerar relatório {} ({})", job.id(), job.kind(), ex);
+		} finally {
+			renderPermits.release();
+		}
+	}
+
+	private void acquirePermit() {
+		try {
+			if (!renderPermits.tryAcquire(permitTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+				throw new OverloadedException("Geração de PDF indisponível no momento; tente novamente em instantes");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new OverloadedException("Geração de PDF interrompida");
+		}
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger sequence = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static final class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		CountingOutputStream(OutputStream output) {
+			super(output);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+
+	public enum ReportJobStatus {
+		PENDING, RUNNING, DONE, FAILED
+	}
+
+	public static final class ReportJob {
+
+		private final String id;
+		private final String kind;
+		private final String fileName;
+		private final Instant submittedAt;
+		private volatile Instant startedAt;
+		private volatile Instant finishedAt;
+		private volatile ReportJobStatus status = ReportJobStatus.PENDING;
+		private volatile byte[] content;
+		private volatile String error;
+
+		ReportJob(String id, String kind, String fileName, Instant submittedAt) {
+			this.id = id;
+			this.kind = kind;
+			this.fileName = fileName;
+			this.submittedAt = submittedAt;
+		}
+
+		public String id() {
+			return id;
+		}
+
+		public String kind() {
+			return kind;
+		}
+
+		public String fileName() {
+			return fileName;
+		}
+
+		public Instant submittedAt() {
+			return submittedAt;
+		}
+
+		public Instant finishedAt() {
+			return finishedAt;
+		}
+
+		public ReportJobStatus status() {
+			return status;
+		}
+
+		public byte[] content() {
+			return content;
+		}
+
+		public String error() {
+			return error;
+		}
+
+		public Long queuedMillis() {
+			Instant started = startedAt != null ? startedAt : finishedAt;
+			return started != null ? Duration.between(submittedAt, started).toMillis() : null;
+		}
+
+		public Long renderMillis() {
+			return startedAt != null && finishedAt != null ? Duration.between(startedAt, finishedAt).toMillis() : null;
+		}
+
+		private void start() {
+			startedAt = Instant.now();
+			status = ReportJobStatus.RUNNING;
+		}
+
+		private void complete(byte[] result) {
+			content = result;
+			finishedAt = Instant.now();
+			status = ReportJobStatus.DONE;
+		}
+
+		private void fail(String message) {
+			error = message;
+			finishedAt = Instant.now();
+			status = ReportJobStatus.FAILED;
+		}
+	}
+}
@@ -1,10 +1,21 @@
 package techfix.techfix.ticket;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -13,35 +24,115 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import techfix.techfix.analytics.TicketAnalytics;
+import techfix.techfix.common.ConditionalGet;
+import techfix.techfix.common.Keyset;
+import techfix.techfix.common.RecordFormat;
+import techfix.techfix.common.RecordWriter;
+import techfix.techfix.common.RecordWriter.Column;
 import techfix.techfix.customer.CustomerService;
+import techfix.techfix.report.PdfCache;
 import techfix.techfix.report.PdfReportService;
+import techfix.techfix.report.ReportController;
+import techfix.techfix.report.ReportController.ReportJobResponse;
+import techfix.techfix.report.ReportJobService;
+import techfix.techfix.ticket.TicketService.SearchResult;
 import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketSort;
 import techfix.techfix.ticket.TicketService.TicketStatus;
 
 @RestController
 @RequestMapping("/api/tickets")
 public class TicketController {
 
+	public static final String SEARCH_TRUNCATED_HEADER = "X-Search-Truncated";
+
+	private static final List<Column<Ticket>> EXPORT_COLUMNS = List.of(
+			new Column<>("id", Ticket::id),
+			new Column<>("customerId", Ticket::customerId),
+			new Column<>("customerName", Ticket::customerName),
+			new Column<>("device", Ticket::device),
+			new Column<>("description", Ticket::description),
+			new Column<>("status", Ticket::status),
+			new Column<>("entryTime", Ticket::entryTime));
+
 	private final TicketService ticketService;
 	private final CustomerService customerService;
 	private final PdfReportService pdfReportService;
+	private final ReportJobService reportJobService;
+	private final PdfCache pdfCache;
+	private final ConditionalGet conditionalGet;
+	private final TicketAnalytics ticketAnalytics;
 
 	public TicketController(TicketService ticketService, CustomerService customerService,
-			PdfReportService pdfReportService) {
+			PdfReportService pdfReportService, ReportJobService reportJobService, PdfCache pdfCache,
+			ConditionalGet conditionalGet, TicketAnalytics ticketAnalytics) {
 		this.ticketService = ticketService;
 		this.customerService = customerService;
 		this.pdfReportService = pdfReportService;
+		this.reportJobService = reportJobService;
+		this.pdfCache = pdfCache;
+		this.conditionalGet = conditionalGet;
+		this.ticketAnalytics = ticketAnalytics;
 	}
 
 	@GetMapping
-	public List<TicketResponse> getAllTicketsEndpoint() {
-		return ticketService.findAll().stream().map(TicketResponse::from).toList();
+	public ResponseEntity<byte[]> getAllTicketsEndpoint(
+			@RequestParam(required = false) TicketStatus status,
+			@RequestParam(required = false) String customerId,
+			@RequestParam(defaultValue = "ID") TicketSort sort,
+			@RequestParam(required = false) @Min(1) @Max(Keyset.MAX_LIMIT) Integer limit,
+			@RequestParam(required = false) String from,
+			@RequestParam(required = false) String to,
+			@RequestParam(required = false) String cursor,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		Instant fromTime = parseInstant("from", from);
+		Instant toTime = parseInstant("to", to);
+		return conditionalGet.respond(ifNoneMatch, "tickets", ticketService.version(),
+				status + "|" + customerId + "|" + sort + "|" + fromTime + "|" + toTime + "|" + limit + "|" + cursor,
+				() -> {
+					var page = ticketService.page(status, customerId, sort, fromTime, toTime, cursor,
+							Keyset.limit(limit));
+					return Keyset.ok(page.map(TicketResponse::from));
+				});
+	}
+
+	@GetMapping("/aging")
+	public ResponseEntity<List<TicketResponse>> agingTickets(@RequestParam @Min(0) int hours,
+			@RequestParam(required = false) @Min(1) @Max(Keyset.MAX_LIMIT) Integer limit,
+			@RequestParam(required = false) String cursor) {
+		Instant cutoff = Instant.now().minus(Duration.ofHours(hours));
+		return Keyset.ok(ticketService.openSince(cutoff, cursor, Keyset.limit(limit)).map(TicketResponse::from));
+	}
+
+	// a busca pontua no máximo um orçamento de candidatos; quando ele acaba antes da lista, a resposta traz
+	// X-Search-Truncated: true e pode faltar um chamado antigo relevante
+	@GetMapping("/search")
+	public ResponseEntity<List<TicketResponse>> searchTickets(
+			@RequestParam @Size(min = 2, message = "Informe ao menos 2 caracteres") String q,
+			@RequestParam(required = false) Set<TicketStatus> status,
+			@RequestParam(defaultValue = "" + TicketService.DEFAULT_SEARCH_LIMIT) @Min(1) @Max(100) int limit) {
+		SearchResult result = ticketService.search(q, status, limit);
+		return ResponseEntity.ok().header(SEARCH_TRUNCATED_HEADER, String.valueOf(!result.complete()))
+				.body(result.tickets().stream().map(TicketResponse::from).toList());
+	}
+
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportTickets(@RequestParam(required = false) String format,
+			@RequestParam(required = false) String since,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		return RecordWriter.export("chamados", RecordFormat.of(format, null), acceptEncoding, EXPORT_COLUMNS,
+				ticketService.inEntryOrder(parseInstant("since", since)));
 	}
 
 	@PostMapping
@@ -51,32 +142,113 @@ public class TicketController {
 		return TicketResponse.from(ticket);
 	}
 
+	@PatchMapping("/{ticketId}/status")
+	public TicketResponse changeStatus(@PathVariable String ticketId, @Valid @RequestBody StatusChangeRequest request) {
+		return TicketResponse.from(ticketService.changeStatus(ticketId, request.expectedStatus(), request.status()));
+	}
+
 	@PostMapping("/{ticketId}/budget")
-	public ResponseEntity<byte[]> generateBudget(@PathVariable String ticketId,
+	public ResponseEntity<StreamingResponseBody> generateBudget(@PathVariable String ticketId,
 			@Valid @RequestBody BudgetRequest request) {
-		var ticket = ticketService.getRequired(ticketId);
+		return pdf(budget(ticketId, request));
+	}
 
-		byte[] pdf = pdfReportService.generateBudgetPdf(ticket, customerService.getRequired(ticket.customerId()), request);
-		return ResponseEntity.ok()
-				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orcamento-" + ticketId + ".pdf")
-				.contentType(MediaType.APPLICATION_PDF).body(pdf);
+	@PostMapping("/{ticketId}/budget/jobs")
+	public ResponseEntity<ReportJobResponse> submitBudget(@PathVariable String ticketId,
+			@Valid @RequestBody BudgetRequest request) {
+		return submit(budget(ticketId, request));
 	}
 
 	@PostMapping("/{ticketId}/laudo")
-	public ResponseEntity<byte[]> generateLaudo(@PathVariable String ticketId, @Valid @RequestBody LaudoRequest request) {
+	public ResponseEntity<StreamingResponseBody> generateLaudo(@PathVariable String ticketId,
+			@Valid @RequestBody LaudoRequest request) {
+		return pdf(laudo(ticketId, request));
+	}
+
+	@PostMapping("/{ticketId}/laudo/jobs")
+	public ResponseEntity<ReportJobResponse> submitLaudo(@PathVariable String ticketId,
+			@Valid @RequestBody LaudoRequest request) {
+		return submit(laudo(ticketId, request));
+	}
+
+	public static Instant parseInstant(String name, String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			if (value.length() <= 10) {
+				return LocalDate.parse(value).atStartOfDay(TicketService.ZONE).toInstant();
+			}
+			if (value.endsWith("Z") || value.indexOf('+', 10) > 0 || value.indexOf('-', 10) > 0) {
+				return OffsetDateTime.parse(value).toInstant();
+			}
+			return LocalDateTime.parse(value).atZone(TicketService.ZONE).toInstant();
+		} catch (DateTimeParseException ex) {
+			throw new IllegalArgumentException(
+					"Parâmetro %s inválido: use AAAA-MM-DD ou AAAA-MM-DDTHH:MM[:SS][Z|±HH:MM]".formatted(name));
+		}
+	}
+
+	private PdfDocument budget(String ticketId, BudgetRequest request) {
 		var ticket = ticketService.getRequired(ticketId);
+		var customer = customerService.getRequired(ticket.customerId());
+		String technician = request.laborInfo() != null ? request.laborInfo().responsible() : null;
+		return new PdfDocument("budget", "orcamento-" + ticketId + ".pdf",
+				PdfCache.key("budget", ticket, customer, request),
+				output -> pdfReportService.writeBudgetPdf(ticket, customer, request, output),
+				() -> ticketAnalytics.assignTechnician(ticketId, technician));
+	}
 
-		byte[] pdf = pdfReportService.generateLaudoPdf(ticket, customerService.getRequired(ticket.customerId()), request);
-		return ResponseEntity.ok()
-				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=laudo-" + ticketId + ".pdf")
-				.contentType(MediaType.APPLICATION_PDF).body(pdf);
+	private PdfDocument laudo(String ticketId, LaudoRequest request) {
+		var ticket = ticketService.getRequired(ticketId);
+		var customer = customerService.getRequired(ticket.customerId());
+		return new PdfDocument("laudo", "laudo-" + ticketId + ".pdf",
+				PdfCache.key("laudo", ticket, customer, request),
+				output -> pdfReportService.writeLaudoPdf(ticket, customer, request, output),
+				() -> ticketAnalytics.assignTechnician(ticketId, request.technicianName()));
+	}
+
+	private ResponseEntity<StreamingResponseBody> pdf(PdfDocument document) {
+		var response = ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + document.fileName())
+				.contentType(MediaType.APPLICATION_PDF);
+		PdfCache.Entry cached = pdfCache.get(document.key());
+		if (cached != null) {
+			return response.header("X-Report-Issued-At", cached.issuedAt().toString())
+					.body(output -> {
+						output.write(cached.content());
+						document.produced().run();
+					});
+		}
+		Consumer<OutputStream> render = reportJobService.reserve(document.kind(),
+				document.attributing(stream -> pdfCache.render(document.key(), document.writer(), stream)));
+		return response.body(render::accept);
+	}
+
+	private ResponseEntity<ReportJobResponse> submit(PdfDocument document) {
+		return ReportController.accepted(reportJobService.submit(document.kind(), document.fileName(),
+				document.attributing(pdfCache.through(document.key(), document.writer()))));
+	}
+
+	// o técnico só é atribuído depois que um documento foi de fato entregue: recusas (503), falhas de render e jobs
+	// que não terminam não marcam ninguém
+	private record PdfDocument(String kind, String fileName, PdfCache.Key key, Consumer<OutputStream> writer,
+			Runnable produced) {
+
+		Consumer<OutputStream> attributing(Consumer<OutputStream> delivery) {
+			return output -> {
+				delivery.accept(output);
+				produced.run();
+			};
+		}
 	}
 
 	public record TicketResponse(String id, String customerId, String customerName, String device, String description,
-			TicketStatus status, String entryDate) {
+			TicketStatus status, String entryDate, Instant entryTime) {
 		public static TicketResponse from(Ticket ticket) {
 			return new TicketResponse(ticket.id(), ticket.customerId(), ticket.customerName(), ticket.device(),
-					ticket.description(), ticket.status(), ticket.entryDate());
+					ticket.description(), ticket.status(), TicketService.DATE_FORMAT.format(ticket.entryTime()),
+					ticket.entryTime());
 		}
 	}
 
@@ -87,6 +259,11 @@ public class TicketController {
 			@NotBlank(message = "Descrição é obrigatória") @Size(min = 5, max = 400) String description) {
 	}
 
+	public record StatusChangeRequest(
+			@NotNull(message = "Novo status é obrigatório") TicketStatus status,
+			TicketStatus expectedStatus) {
+	}
+
 	public record BudgetRequest(
 			@NotBlank(message = "Diagnóstico é obrigatório") String diagnosis,
 			@NotBlank(message = "Causa provável é obrigatória") String cause,
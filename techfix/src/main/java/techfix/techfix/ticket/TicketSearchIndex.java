@@ -0,0 +1,322 @@
+package techfix.techfix.ticket;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import techfix.techfix.common.TextFolding;
+import techfix.techfix.ticket.TicketService.SearchResult;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+final class TicketSearchIndex {
+
+	// com milhões de chamados um termo comum casa com centenas de milhares: blocos cujo teto de BM25 não supera o
+	// pior resultado já guardado são pulados inteiros (block-max), e no máximo scanBudget documentos são pontuados
+	// de fato; se o orçamento acabar antes da lista, o resultado sai marcado como incompleto
+	static final int SCAN_BUDGET = 20_000;
+	private static final int BLOCK_SHIFT = 7;
+
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final int MIN_STEM = 3;
+
+	private static final Set<String> STOPWORDS = Set.of("a", "o", "as", "os", "e", "de", "da", "do", "das", "dos",
+			"em", "no", "na", "nos", "nas", "um", "uma", "uns", "umas", "ao", "aos", "para", "pra", "por", "pelo",
+			"pela", "com", "que", "se", "mas", "ou", "mesmo", "apos", "porem", "muito", "mais", "ja", "esta", "estava",
+			"quando", "seu", "sua", "isso", "ele", "ela", "foi", "ser", "tem");
+
+	private static final String[][] PLURALS = { { "coes", "cao" }, { "oes", "ao" }, { "aes", "ao" },
+			{ "ais", "al" }, { "eis", "el" }, { "ois", "ol" }, { "ns", "m" }, { "res", "r" }, { "s", "" } };
+
+	private static final String[] SUFFIXES = { "amento", "imento", "mente", "acao", "icao", "ando", "endo", "indo",
+			"ado", "ido", "ada", "ida", "ar", "er", "ir", "a", "o", "e" };
+
+	private final ConcurrentMap<String, Posting> postings = new ConcurrentHashMap<>();
+	private final Function<String, Ticket> lookup;
+	private final int scanBudget;
+	private volatile String[] ids = new String[1024];
+	private volatile int[] lengths = new int[1024];
+	private volatile int documents;
+	private volatile long totalLength;
+
+	TicketSearchIndex(Function<String, Ticket> lookup) {
+		this(lookup, SCAN_BUDGET);
+	}
+
+	TicketSearchIndex(Function<String, Ticket> lookup, int scanBudget) {
+		this.lookup = lookup;
+		this.scanBudget = scanBudget;
+	}
+
+	void add(Ticket ticket) {
+		Map<String, Integer> frequencies = new HashMap<>();
+		int length = collect(ticket.description(), frequencies) + collect(ticket.device(), frequencies);
+		synchronized (this) {
+			int doc = documents;
+			if (doc == ids.length) {
+				ids = Arrays.copyOf(ids, doc * 2);
+				lengths = Arrays.copyOf(lengths, doc * 2);
+			}
+			ids[doc] = ticket.id();
+			lengths[doc] = length;
+			totalLength += length;
+			frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new Posting())
+					.append(doc, frequency, length));
+			documents = doc + 1;
+		}
+	}
+
+	SearchResult search(String query, Set<TicketStatus> statuses, int limit) {
+		Map<String, Integer> terms = new LinkedHashMap<>();
+		collect(query, terms);
+		int total = documents;
+		if (terms.isEmpty() || limit <= 0 || total == 0) {
+			return SearchResult.EMPTY;
+		}
+
+		List<Posting> lists = new ArrayList<>(terms.size());
+		for (String term : terms.keySet()) {
+			Posting posting = postings.get(term);
+			if (posting == null) {
+				return SearchResult.EMPTY;
+			}
+			lists.add(posting.snapshot(total));
+		}
+		lists.sort(Comparator.comparingInt(Posting::size));
+
+		String[] ids = this.ids;
+		int[] lengths = this.lengths;
+		double averageLength = Math.max(1.0, (double) totalLength / total);
+		double[] idf = new double[lists.size()];
+		for (int i = 0; i < idf.length; i++) {
+			int df = lists.get(i).size();
+			idf[i] = Math.log(1 + (total - df + 0.5) / (df + 0.5));
+		}
+
+		Posting driver = lists.get(0);
+		int[] driverDocs = driver.docs;
+		int[] driverFrequencies = driver.frequencies;
+		int[] cursors = new int[lists.size()];
+		double[] maxScores = new double[lists.size()];
+		for (int i = 0; i < cursors.length; i++) {
+			cursors[i] = lists.get(i).size() - 1;
+			maxScores[i] = lists.get(i).maxScore(idf[i], averageLength);
+		}
+		PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Match.ORDER.reversed());
+		int scored = 0;
+		boolean complete = true;
+		int block = -1;
+		double ceiling = Double.MAX_VALUE;
+		for (int p = driver.size() - 1; p >= 0; p--) {
+			if (p >>> BLOCK_SHIFT != block) {
+				block = p >>> BLOCK_SHIFT;
+				// somado na mesma ordem da pontuação: a soma em ponto flutuante é monótona, o teto nunca fica abaixo
+				ceiling = driver.blockScore(block, idf[0], averageLength);
+				for (int i = 1; i < maxScores.length; i++) {
+					ceiling += maxScores[i];
+				}
+			}
+			// percorre do mais novo ao mais antigo e o empate favorece o mais novo: teto igual ao pior guardado
+			// já não entra
+			if (best.size() == limit && ceiling <= best.peek().score()) {
+				p = block << BLOCK_SHIFT;
+				continue;
+			}
+			if (scored == scanBudget) {
+				complete = false;
+				break;
+			}
+			scored++;
+			int doc = driverDocs[p];
+			double score = 0;
+			for (int i = 0; i < lists.size(); i++) {
+				int frequency;
+				if (i == 0) {
+					frequency = driverFrequencies[p];
+				} else {
+					cursors[i] = lists.get(i).seekBack(cursors[i], doc);
+					frequency = lists.get(i).frequencyAt(cursors[i], doc);
+				}
+				if (frequency == 0) {
+					score = -1;
+					break;
+				}
+				score += bm25(idf[i], frequency, lengths[doc], averageLength);
+			}
+			if (score < 0) {
+				continue;
+			}
+			if (best.size() == limit && score <= best.peek().score()) {
+				continue;
+			}
+			Ticket ticket = lookup.apply(ids[doc]);
+			if (ticket == null || (statuses != null && !statuses.isEmpty() && !statuses.contains(ticket.status()))) {
+				continue;
+			}
+			best.offer(new Match(ticket, doc, score));
+			if (best.size() > limit) {
+				best.poll();
+			}
+		}
+
+		List<Match> ordered = new ArrayList<>(best);
+		ordered.sort(Match.ORDER);
+		return new SearchResult(ordered.stream().map(Match::ticket).toList(), complete);
+	}
+
+	private static double bm25(double idf, int frequency, int length, double averageLength) {
+		return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+	}
+
+	private static int collect(String text, Map<String, Integer> frequencies) {
+		String folded = TextFolding.fold(text);
+		int count = 0;
+		int start = -1;
+		for (int i = 0; i <= folded.length(); i++) {
+			boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+			if (word && start < 0) {
+				start = i;
+			} else if (!word && start >= 0) {
+				String token = folded.substring(start, i);
+				start = -1;
+				if (!STOPWORDS.contains(token)) {
+					frequencies.merge(stem(token), 1, Integer::sum);
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	static String stem(String token) {
+		if (token.length() <= MIN_STEM || Character.isDigit(token.charAt(token.length() - 1))) {
+			return token;
+		}
+		String stem = token;
+		for (String[] plural : PLURALS) {
+			if (stem.endsWith(plural[0]) && stem.length() - plural[0].length() + plural[1].length() >= MIN_STEM) {
+				stem = stem.substring(0, stem.length() - plural[0].length()) + plural[1];
+				break;
+			}
+		}
+		for (String suffix : SUFFIXES) {
+			if (stem.endsWith(suffix) && stem.length() - suffix.length() >= MIN_STEM) {
+				return stem.substring(0, stem.length() - suffix.length());
+			}
+		}
+		return stem;
+	}
+
+	private static final class Posting {
+
+		private volatile int[] docs;
+		private volatile int[] frequencies;
+		// por bloco de 2^BLOCK_SHIFT posições: maior frequência e menor documento, o teto de BM25 do bloco
+		private volatile int[] blockFrequencies;
+		private volatile int[] blockLengths;
+		private volatile int size;
+
+		private Posting() {
+			this(new int[4], new int[4], new int[1], new int[1], 0);
+		}
+
+		private Posting(int[] docs, int[] frequencies, int[] blockFrequencies, int[] blockLengths, int size) {
+			this.docs = docs;
+			this.frequencies = frequencies;
+			this.blockFrequencies = blockFrequencies;
+			this.blockLengths = blockLengths;
+			this.size = size;
+		}
+
+		// chamado sob o lock do índice: os documentos entram em ordem crescente; os tetos só sobem (frequência) ou
+		// descem (tamanho), então um leitor que veja um valor mais novo continua com um limite válido
+		void append(int doc, int frequency, int length) {
+			int n = size;
+			if (n == docs.length) {
+				frequencies = Arrays.copyOf(frequencies, n * 2);
+				docs = Arrays.copyOf(docs, n * 2);
+			}
+			int block = n >>> BLOCK_SHIFT;
+			if (block == blockFrequencies.length) {
+				blockFrequencies = Arrays.copyOf(blockFrequencies, block * 2);
+				blockLengths = Arrays.copyOf(blockLengths, block * 2);
+			}
+			if ((n & ((1 << BLOCK_SHIFT) - 1)) == 0) {
+				blockFrequencies[block] = frequency;
+				blockLengths[block] = length;
+			} else {
+				blockFrequencies[block] = Math.max(blockFrequencies[block], frequency);
+				blockLengths[block] = Math.min(blockLengths[block], length);
+			}
+			docs[n] = doc;
+			frequencies[n] = frequency;
+			size = n + 1;
+		}
+
+		double blockScore(int block, double idf, double averageLength) {
+			return bm25(idf, blockFrequencies[block], blockLengths[block], averageLength);
+		}
+
+		double maxScore(double idf, double averageLength) {
+			double max = 0;
+			for (int block = 0; block << BLOCK_SHIFT < size; block++) {
+				max = Math.max(max, blockScore(block, idf, averageLength));
+			}
+			return max;
+		}
+
+		// lê o tamanho antes dos arrays; ignora documentos publicados depois de "total"
+		Posting snapshot(int total) {
+			int n = size;
+			int[] docs = this.docs;
+			int[] frequencies = this.frequencies;
+			while (n > 0 && docs[n - 1] >= total) {
+				n--;
+			}
+			return new Posting(docs, frequencies, blockFrequencies, blockLengths, n);
+		}
+
+		int size() {
+			return size;
+		}
+
+		// a lista é percorrida do fim para o começo junto com a lista guia: galopa para trás a partir
+		// do cursor e devolve a última posição com documento <= doc (ou -1)
+		int seekBack(int cursor, int doc) {
+			int[] docs = this.docs;
+			if (cursor < 0 || docs[cursor] <= doc) {
+				return cursor;
+			}
+			int step = 1;
+			int high = cursor;
+			int low = cursor - step;
+			while (low >= 0 && docs[low] > doc) {
+				high = low;
+				step <<= 1;
+				low = cursor - step;
+			}
+			int found = Arrays.binarySearch(docs, Math.max(0, low), high, doc);
+			return found >= 0 ? found : -found - 2;
+		}
+
+		int frequencyAt(int position, int doc) {
+			return position >= 0 && docs[position] == doc ? frequencies[position] : 0;
+		}
+	}
+
+	private record Match(Ticket ticket, int doc, double score) {
+
+		static final Comparator<Match> ORDER = Comparator.comparingDouble(Match::score).reversed()
+				.thenComparing(Comparator.comparingInt(Match::doc).reversed());
+	}
+}
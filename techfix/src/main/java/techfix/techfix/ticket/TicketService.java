@@ -1,72 +1,240 @@
 package techfix.techfix.ticket;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import techfix.techfix.common.ConflictException;
+import techfix.techfix.common.Keyset;
+import techfix.techfix.common.Page;
 import techfix.techfix.customer.CustomerService;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.IdAllocator;
+import techfix.techfix.persistence.SequenceStore;
 import techfix.techfix.customer.CustomerService.Customer;
 
 @Service
 public class TicketService {
 
-	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-	private final AtomicInteger counter = new AtomicInteger(1048);
+	public static final ZoneId ZONE = ZoneId.systemDefault();
+	public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").withZone(ZONE);
+	public static final int DEFAULT_SEARCH_LIMIT = 20;
 	private final ConcurrentMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+	private final NavigableSet<String> sortedIds = new ConcurrentSkipListSet<>(Keyset.ID_ORDER);
+	private final NavigableSet<EntryKey> byEntryDate = new ConcurrentSkipListSet<>();
+	private final Map<TicketStatus, NavigableSet<String>> byStatus = new EnumMap<>(TicketStatus.class);
+	private final ConcurrentMap<String, NavigableSet<String>> byCustomer = new ConcurrentHashMap<>();
+	private final NavigableSet<EntryKey> pendingByEntryDate = new ConcurrentSkipListSet<>();
+	private final Map<TicketStatus, AtomicInteger> statusCounts = new EnumMap<>(TicketStatus.class);
+	private final ConcurrentMap<LocalDate, AtomicInteger> dailyCounts = new ConcurrentHashMap<>();
+	private final TicketSearchIndex searchIndex = new TicketSearchIndex(tickets::get);
+	private final List<Consumer<TicketEvent>> listeners = new CopyOnWriteArrayList<>();
+	// mudança e notificação de um mesmo chamado acontecem sob o mesmo lock: os ouvintes recebem os eventos de cada
+	// chamado na ordem em que ocorreram, inclusive a criação antes de uma troca de status imediata
+	private final Object[] eventLocks = new Object[64];
+	private final AtomicLong version = new AtomicLong();
 	private final CustomerService customerService;
+	private final EntityRepository<Ticket> repository;
+	private final IdAllocator ids;
 
-	public TicketService(CustomerService customerService) {
+	public TicketService(CustomerService customerService, EntityRepository<Ticket> repository,
+			SequenceStore sequences) {
 		this.customerService = customerService;
+		this.repository = repository;
+		this.ids = new IdAllocator(sequences, "tickets");
+		for (TicketStatus status : TicketStatus.values()) {
+			byStatus.put(status, new ConcurrentSkipListSet<>(Keyset.ID_ORDER));
+			statusCounts.put(status, new AtomicInteger());
+		}
+		Arrays.setAll(eventLocks, i -> new Object());
 	}
 
 	@PostConstruct
-	void seedData() {
-		LocalDateTime now = LocalDateTime.now();
-		tickets.put("TCK-1045", buildSeed("TCK-1045", "CLI-001", "Geladeira Brastemp BWA12AB",
+	public void seedData() {
+		List<Ticket> stored = repository.loadAll();
+		if (!stored.isEmpty()) {
+			stored.forEach(this::register);
+			return;
+		}
+
+		Instant now = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+		seed(buildSeed("TCK-1045", "CLI-001", "Geladeira Brastemp BWA12AB",
 				"Não gela o suficiente mesmo após limpeza recente.", TicketStatus.EM_ANDAMENTO,
-				now.minusDays(2).format(DATE_FORMAT)));
-		tickets.put("TCK-1046", buildSeed("TCK-1046", "CLI-002", "Televisão Samsung 55\"",
+				now.minus(Duration.ofDays(2))));
+		seed(buildSeed("TCK-1046", "CLI-002", "Televisão Samsung 55\"",
 				"Televisor liga, porém não exibe imagem.", TicketStatus.EM_ANDAMENTO,
-				now.minusDays(1).format(DATE_FORMAT)));
-		tickets.put("TCK-1047", buildSeed("TCK-1047", "CLI-003", "Máquina de Lavar Consul MWK12AB",
+				now.minus(Duration.ofDays(1))));
+		seed(buildSeed("TCK-1047", "CLI-003", "Máquina de Lavar Consul MWK12AB",
 				"Apresenta ruído e não completa centrifugação.", TicketStatus.TRIAGEM,
-				now.minusHours(5).format(DATE_FORMAT)));
-		tickets.put("TCK-1048", buildSeed("TCK-1048", "CLI-004", "Micro-ondas Electrolux MTD30",
+				now.minus(Duration.ofHours(5))));
+		seed(buildSeed("TCK-1048", "CLI-004", "Micro-ondas Electrolux MTD30",
 				"Painel liga mas não aquece alimentos.", TicketStatus.EM_ANDAMENTO,
-				now.minusHours(3).format(DATE_FORMAT)));
-		counter.set(1048);
+				now.minus(Duration.ofHours(3))));
 	}
 
 	private Ticket buildSeed(String id, String customerId, String device, String description, TicketStatus status,
-			String entryDate) {
+			Instant entryTime) {
 		Customer customer = customerService.getRequired(customerId);
-		return new Ticket(id, customerId, customer.name(), device, description, status, entryDate);
+		return new Ticket(id, customerId, customer.name(), device, description, status, entryTime);
 	}
 
 	public Ticket create(String customerId, String deviceType, String deviceModel, String description) {
 		Customer customer = customerService.getRequired(customerId);
-		String ticketId = "TCK-" + counter.incrementAndGet();
-		String entryDate = LocalDateTime.now().format(DATE_FORMAT);
+		String ticketId = "TCK-" + ids.next();
+		Instant entryTime = Instant.now().truncatedTo(ChronoUnit.MILLIS);
 		String device = (deviceType + " " + deviceModel).trim();
 
 		var ticket = new Ticket(ticketId, customerId, customer.name(), device, description.trim(),
-				TicketStatus.TRIAGEM, entryDate);
-		tickets.put(ticketId, ticket);
+				TicketStatus.TRIAGEM, entryTime);
+		synchronized (eventLock(ticketId)) {
+			register(ticket);
+			repository.save(ticket);
+			version.incrementAndGet();
+			notifyListeners(new TicketEvent(ticket, null, deviceType.trim(), entryTime));
+		}
 		return ticket;
 	}
 
+	public void onChange(Consumer<Ticket> listener) {
+		onEvent(event -> listener.accept(event.ticket()));
+	}
+
+	public void onEvent(Consumer<TicketEvent> listener) {
+		listeners.add(listener);
+	}
+
 	public List<Ticket> findAll() {
 		return new ArrayList<>(tickets.values());
 	}
 
+	public long version() {
+		return version.get();
+	}
+
+	public int size() {
+		return tickets.size();
+	}
+
+	public SearchResult search(String query, Set<TicketStatus> statuses, int limit) {
+		return searchIndex.search(query, statuses, limit);
+	}
+
+	public Iterable<Ticket> inEntryOrder(Instant since) {
+		NavigableSet<EntryKey> keys = entryRange(since, null);
+		return () -> keys.stream().map(key -> tickets.get(key.id())).filter(Objects::nonNull).iterator();
+	}
+
+	public Page<Ticket> page(TicketStatus status, String customerId, TicketSort sort, String cursor, int limit) {
+		return page(status, customerId, sort, null, null, cursor, limit);
+	}
+
+	// com from/to a página sai em ordem de entrada, qualquer que seja o sort pedido
+	public Page<Ticket> page(TicketStatus status, String customerId, TicketSort sort, Instant from, Instant to,
+			String cursor, int limit) {
+		String after = Keyset.decode(cursor);
+		Predicate<Ticket> filter = ticket -> (status == null || ticket.status() == status)
+				&& (customerId == null || ticket.customerId().equals(customerId));
+		if (sort == TicketSort.ENTRY_DATE || from != null || to != null) {
+			return Keyset.page(entryRange(from, to), after != null ? EntryKey.fromCursor(after) : null, limit,
+					key -> tickets.get(key.id()), filter, EntryKey::toCursor);
+		}
+		return Keyset.page(candidateIds(status, customerId), after, limit, tickets::get, filter, id -> id);
+	}
+
+	public Ticket changeStatus(String id, TicketStatus expected, TicketStatus next) {
+		synchronized (eventLock(id)) {
+			return changeStatusLocked(id, expected, next);
+		}
+	}
+
+	private Ticket changeStatusLocked(String id, TicketStatus expected, TicketStatus next) {
+		Ticket[] previous = new Ticket[1];
+		Ticket changed = tickets.computeIfPresent(id, (key, current) -> {
+			previous[0] = current;
+			if (expected != null && current.status() != expected) {
+				throw new ConflictException("Chamado %s está em %s, não em %s".formatted(id, current.status(), expected));
+			}
+			if (current.status() == next) {
+				return current;
+			}
+			if (!current.status().canTransitionTo(next)) {
+				throw new ConflictException(
+						"Transição de %s para %s não permitida".formatted(current.status(), next));
+			}
+			Ticket updated = new Ticket(current.id(), current.customerId(), current.customerName(), current.device(),
+					current.description(), next, current.entryTime());
+			reindexStatus(current, updated);
+			repository.save(updated);
+			return updated;
+		});
+		if (changed == null) {
+			throw new IllegalArgumentException("Chamado %s não encontrado".formatted(id));
+		}
+		if (changed != previous[0]) {
+			version.incrementAndGet();
+			notifyListeners(new TicketEvent(changed, previous[0].status(), null, Instant.now()));
+		}
+		return changed;
+	}
+
+	public int countByStatus(TicketStatus status) {
+		return statusCounts.get(status).get();
+	}
+
+	public int countCreatedOn(LocalDate day) {
+		AtomicInteger count = dailyCounts.get(day);
+		return count != null ? count.get() : 0;
+	}
+
+	public int countEnteredBetween(Instant from, Instant to) {
+		return entryRange(from, to).size();
+	}
+
+	public Page<Ticket> openSince(Instant cutoff, String cursor, int limit) {
+		String after = Keyset.decode(cursor);
+		return Keyset.page(pendingByEntryDate.headSet(EntryKey.first(cutoff), false),
+				after != null ? EntryKey.fromCursor(after) : null, limit, key -> tickets.get(key.id()),
+				ticket -> ticket.status() != TicketStatus.FINALIZADO, EntryKey::toCursor);
+	}
+
+	public List<Ticket> recentPending(int limit) {
+		List<Ticket> pending = new ArrayList<>(Math.min(limit, 64));
+		for (EntryKey key : pendingByEntryDate.descendingSet()) {
+			if (pending.size() == limit) {
+				break;
+			}
+			Ticket ticket = tickets.get(key.id());
+			if (ticket != null && ticket.status() != TicketStatus.FINALIZADO) {
+				pending.add(ticket);
+			}
+		}
+		return pending;
+	}
+
 	public Optional<Ticket> findById(String id) {
 		return Optional.ofNullable(tickets.get(id));
 	}
@@ -75,12 +243,126 @@ public class TicketService {
 		return findById(id).orElseThrow(() -> new IllegalArgumentException("Chamado %s não encontrado".formatted(id)));
 	}
 
+	private NavigableSet<EntryKey> entryRange(Instant from, Instant to) {
+		NavigableSet<EntryKey> range = byEntryDate;
+		if (from != null) {
+			range = range.tailSet(EntryKey.first(from), true);
+		}
+		if (to != null) {
+			range = range.headSet(EntryKey.first(to), false);
+		}
+		return range;
+	}
+
+	private NavigableSet<String> candidateIds(TicketStatus status, String customerId) {
+		if (customerId != null) {
+			return byCustomer.getOrDefault(customerId, Collections.emptyNavigableSet());
+		}
+		if (status != null) {
+			return byStatus.get(status);
+		}
+		return sortedIds;
+	}
+
+	private void seed(Ticket ticket) {
+		register(ticket);
+		repository.save(ticket);
+	}
+
+	private void register(Ticket ticket) {
+		ids.advancePast(Long.parseLong(ticket.id().substring(ticket.id().lastIndexOf('-') + 1)));
+		tickets.put(ticket.id(), ticket);
+		sortedIds.add(ticket.id());
+		EntryKey entryKey = new EntryKey(ticket.entryTime(), ticket.id());
+		byEntryDate.add(entryKey);
+		byStatus.get(ticket.status()).add(ticket.id());
+		statusCounts.get(ticket.status()).incrementAndGet();
+		dailyCounts.computeIfAbsent(LocalDate.ofInstant(ticket.entryTime(), ZONE), day -> new AtomicInteger()).incrementAndGet();
+		if (ticket.status() != TicketStatus.FINALIZADO) {
+			pendingByEntryDate.add(entryKey);
+		}
+		byCustomer.computeIfAbsent(ticket.customerId(), key -> new ConcurrentSkipListSet<>(Keyset.ID_ORDER))
+				.add(ticket.id());
+		searchIndex.add(ticket);
+	}
+
+	private Object eventLock(String id) {
+		return eventLocks[Math.floorMod(id.hashCode(), eventLocks.length)];
+	}
+
+	private void notifyListeners(TicketEvent event) {
+		for (Consumer<TicketEvent> listener : listeners) {
+			listener.accept(event);
+		}
+	}
+
+	private void reindexStatus(Ticket previous, Ticket updated) {
+		byStatus.get(updated.status()).add(updated.id());
+		byStatus.get(previous.status()).remove(previous.id());
+		statusCounts.get(updated.status()).incrementAndGet();
+		statusCounts.get(previous.status()).decrementAndGet();
+		EntryKey entryKey = new EntryKey(updated.entryTime(), updated.id());
+		if (updated.status() == TicketStatus.FINALIZADO) {
+			pendingByEntryDate.remove(entryKey);
+		} else {
+			pendingByEntryDate.add(entryKey);
+		}
+	}
+
 	public record Ticket(String id, String customerId, String customerName, String device, String description,
-			TicketStatus status, String entryDate) {
+			TicketStatus status, Instant entryTime) {
+	}
+
+	// previousStatus nulo indica abertura do chamado; deviceType só vem na abertura
+	// complete = false quando o orçamento de pontuação acabou antes de esgotar os candidatos
+	public record SearchResult(List<Ticket> tickets, boolean complete) {
+
+		static final SearchResult EMPTY = new SearchResult(List.of(), true);
+	}
+
+	public record TicketEvent(Ticket ticket, TicketStatus previousStatus, String deviceType, Instant at) {
 	}
 
 	public enum TicketStatus {
-		TRIAGEM, EM_ANDAMENTO, FINALIZADO
+		TRIAGEM, EM_ANDAMENTO, FINALIZADO;
+
+		public boolean canTransitionTo(TicketStatus next) {
+			return switch (this) {
+			case TRIAGEM -> next == EM_ANDAMENTO || next == FINALIZADO;
+			case EM_ANDAMENTO -> next == TRIAGEM || next == FINALIZADO;
+			case FINALIZADO -> false;
+			};
+		}
+	}
+
+	public enum TicketSort {
+		ID, ENTRY_DATE
+	}
+
+	private record EntryKey(Instant entryTime, String id) implements Comparable<EntryKey> {
+
+		static EntryKey first(Instant entryTime) {
+			return new EntryKey(entryTime, "");
+		}
+
+		static EntryKey fromCursor(String cursor) {
+			int separator = cursor.lastIndexOf('|');
+			try {
+				return new EntryKey(Instant.parse(cursor.substring(0, separator)), cursor.substring(separator + 1));
+			} catch (RuntimeException ex) {
+				throw new IllegalArgumentException("Cursor de paginação inválido");
+			}
+		}
+
+		String toCursor() {
+			return entryTime + "|" + id;
+		}
+
+		@Override
+		public int compareTo(EntryKey other) {
+			int byDate = entryTime.compareTo(other.entryTime);
+			return byDate != 0 ? byDate : Keyset.ID_ORDER.compare(id, other.id);
+		}
 	}
 }
 
@@ -0,0 +1,34 @@
+CREATE TABLE IF NOT EXISTS customers (
+    id VARCHAR(20) PRIMARY KEY,
+    name VARCHAR(120) NOT NULL,
+    cpf CHAR(14) NOT NULL UNIQUE,
+    phone VARCHAR(20),
+    address VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS tickets (
+    id VARCHAR(20) PRIMARY KEY,
+    customer_id VARCHAR(20) NOT NULL,
+    device VARCHAR(121) NOT NULL,
+    description VARCHAR(400),
+    status VARCHAR(20) NOT NULL DEFAULT 'TRIAGEM',
+    -- epoch millis em UTC: TIMESTAMP perderia os milissegundos, dependeria do fuso da sessão e acaba em 2038
+    entry_date BIGINT NOT NULL,
+    CONSTRAINT fk_ticket_customer FOREIGN KEY (customer_id) REFERENCES customers(id)
+);
+
+CREATE TABLE IF NOT EXISTS inventory_items (
+    id VARCHAR(20) PRIMARY KEY,
+    type VARCHAR(80) NOT NULL,
+    brand VARCHAR(60) NOT NULL,
+    quantity INT NOT NULL DEFAULT 0,
+    price DECIMAL(10,2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_item_type_brand UNIQUE (type, brand)
+);
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+    name VARCHAR(40) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
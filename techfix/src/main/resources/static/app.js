@@ -27,7 +27,7 @@ navLinks.forEach((link) => {
     
     // Carregar dados da página
     if (targetPage === "home") {
-      loadDashboard();
+      connectDashboard();
     } else if (targetPage === "tickets") {
       loadTickets();
     } else if (targetPage === "customers") {
@@ -89,12 +89,7 @@ const loadDashboard = async () => {
       throw new Error("Falha ao carregar o painel");
     }
 
-    const summary = await response.json();
-    setMetricText("#metric-today", summary.todayTickets.toString());
-    setMetricText("#metric-techs", summary.techniciansAvailable.toString());
-    pill.textContent = `${summary.pendingTickets} em aberto`;
-
-    renderTickets(summary.tickets);
+    applyDashboardSummary(await response.json());
   } catch (error) {
     console.error(error);
     pill.textContent = "erro";
@@ -103,6 +98,90 @@ const loadDashboard = async () => {
   }
 };
 
+// Painel em tempo real: snapshot inicial e depois apenas as diferenças via SSE; sem SSE, polling periódico
+const DASHBOARD_POLL_MS = 15000;
+const dashboardTickets = new Map();
+let dashboardStream = null;
+let dashboardPoll = null;
+
+const entrySortKey = (entryDate) =>
+  `${entryDate.slice(6, 10)}${entryDate.slice(3, 5)}${entryDate.slice(0, 2)}${entryDate.slice(11)}`;
+
+const renderDashboardTickets = () => {
+  const tickets = [...dashboardTickets.values()].sort(
+    (a, b) => entrySortKey(b.entryDate).localeCompare(entrySortKey(a.entryDate)) || b.id.localeCompare(a.id)
+  );
+  renderTickets(tickets);
+};
+
+const applyDashboardCounters = ({ pendingTickets, todayTickets }) => {
+  setMetricText("#metric-today", todayTickets.toString());
+  pill.textContent = `${pendingTickets} em aberto`;
+};
+
+const applyDashboardSummary = (summary) => {
+  pill.classList.remove("pill--error");
+  setMetricText("#metric-techs", summary.techniciansAvailable.toString());
+  applyDashboardCounters(summary);
+  dashboardTickets.clear();
+  summary.tickets.forEach((ticket) => dashboardTickets.set(ticket.id, ticket));
+  renderDashboardTickets();
+};
+
+const applyDashboardDelta = (delta) => {
+  [...delta.added, ...delta.changed].forEach((ticket) => dashboardTickets.set(ticket.id, ticket));
+  delta.removed.forEach((id) => dashboardTickets.delete(id));
+  applyDashboardCounters(delta);
+  renderDashboardTickets();
+};
+
+const startDashboardPolling = () => {
+  if (dashboardPoll) {
+    return;
+  }
+  loadDashboard();
+  dashboardPoll = setInterval(loadDashboard, DASHBOARD_POLL_MS);
+};
+
+const stopDashboardPolling = () => {
+  clearInterval(dashboardPoll);
+  dashboardPoll = null;
+};
+
+const connectDashboard = () => {
+  if (dashboardStream) {
+    return;
+  }
+  if (!("EventSource" in window)) {
+    startDashboardPolling();
+    return;
+  }
+
+  pill.textContent = "sincronizando…";
+  const stream = new EventSource("/api/dashboard/stream");
+  dashboardStream = stream;
+
+  stream.addEventListener("snapshot", (event) => {
+    stopDashboardPolling();
+    applyDashboardSummary(JSON.parse(event.data));
+  });
+
+  stream.addEventListener("delta", (event) => {
+    applyDashboardDelta(JSON.parse(event.data));
+  });
+
+  // o navegador reconecta sozinho; se desistir (CLOSED), o painel passa a ser atualizado por polling até a
+  // próxima visita à página inicial tentar o stream de novo
+  stream.onerror = () => {
+    if (stream.readyState === EventSource.CLOSED) {
+      dashboardStream = null;
+      startDashboardPolling();
+      return;
+    }
+    pill.textContent = "reconectando…";
+  };
+};
+
 // Gerenciamento de Clientes
 let selectedCustomer = null;
 const customerSearch = $("#customer-search");
@@ -520,7 +599,7 @@ const navigateToPage = (pageName) => {
   
   // Carregar dados da página
   if (pageName === "home") {
-    loadDashboard();
+    connectDashboard();
   } else if (pageName === "tickets") {
     loadTickets();
   } else if (pageName === "customers") {
@@ -539,7 +618,7 @@ if (gotoCustomersBtn) {
 }
 
 // Inicialização
-loadDashboard();
+connectDashboard();
 
 const formatCurrency = (value) => {
   if (value === null || value === undefined) return "R$ 0,00";
@@ -3,7 +3,7 @@ type Ticket = {
   customer: string;
   device: string;
   status: "TRIAGEM" | "EM_ANDAMENTO" | "FINALIZADO";
-  etaMinutes: number;
+  entryDate: string;
   description?: string;
 };
 
@@ -15,6 +15,14 @@ type DashboardSummary = {
   tickets: Ticket[];
 };
 
+type DashboardDelta = {
+  added: Ticket[];
+  changed: Ticket[];
+  removed: string[];
+  pendingTickets: number;
+  todayTickets: number;
+};
+
 const $ = <T extends HTMLElement>(selector: string): T => {
   const element = document.querySelector(selector);
   if (!element) {
@@ -38,10 +46,7 @@ const statusLabel: Record<Ticket["status"], string> = {
   FINALIZADO: "Concluído",
 };
 
-let currentTickets: Ticket[] = [];
-
 const renderTickets = (tickets: Ticket[]): void => {
-  currentTickets = tickets;
   pipeline.innerHTML = "";
 
   if (!tickets.length) {
@@ -59,7 +64,7 @@ const renderTickets = (tickets: Ticket[]): void => {
       </div>
       <div>
         <span>${statusLabel[ticket.status]}</span>
-        <strong>${ticket.etaMinutes} min</strong>
+        <strong>${ticket.entryDate}</strong>
       </div>
     `;
     pipeline.appendChild(card);
@@ -82,19 +87,100 @@ const loadDashboard = async (): Promise<void> => {
       throw new Error("Falha ao carregar o painel");
     }
 
-    const summary = (await response.json()) as DashboardSummary;
-    setMetricText("#metric-today", summary.todayTickets.toString());
-    setMetricText("#metric-techs", summary.techniciansAvailable.toString());
-    setMetricText("#metric-next", summary.nextAppointment);
-    pill.textContent = `${summary.pendingTickets} em aberto`;
-
-    renderTickets(summary.tickets);
+    applyDashboardSummary((await response.json()) as DashboardSummary);
   } catch (error) {
     console.error(error);
     handleError("Não foi possível sincronizar. Tente novamente.");
   }
 };
 
+// Painel em tempo real: snapshot inicial e depois apenas as diferenças via SSE; sem SSE, polling periódico
+const DASHBOARD_POLL_MS = 15000;
+const dashboardTickets = new Map<string, Ticket>();
+let dashboardStream: EventSource | null = null;
+let dashboardPoll: number | null = null;
+
+// entryDate vem como dd/MM/yyyy HH:mm; a chave yyyyMMddHH:mm ordena do mais recente para o mais antigo
+const entrySortKey = (entryDate: string): string =>
+  `${entryDate.slice(6, 10)}${entryDate.slice(3, 5)}${entryDate.slice(0, 2)}${entryDate.slice(11)}`;
+
+const renderDashboardTickets = (): void => {
+  const tickets = [...dashboardTickets.values()].sort(
+    (a, b) => entrySortKey(b.entryDate).localeCompare(entrySortKey(a.entryDate)) || b.id.localeCompare(a.id)
+  );
+  renderTickets(tickets);
+};
+
+const applyDashboardCounters = ({ pendingTickets, todayTickets }: DashboardDelta | DashboardSummary): void => {
+  setMetricText("#metric-today", todayTickets.toString());
+  pill.textContent = `${pendingTickets} em aberto`;
+};
+
+const applyDashboardSummary = (summary: DashboardSummary): void => {
+  pill.classList.remove("pill--error");
+  setMetricText("#metric-techs", summary.techniciansAvailable.toString());
+  applyDashboardCounters(summary);
+  dashboardTickets.clear();
+  summary.tickets.forEach((ticket) => dashboardTickets.set(ticket.id, ticket));
+  renderDashboardTickets();
+};
+
+const applyDashboardDelta = (delta: DashboardDelta): void => {
+  [...delta.added, ...delta.changed].forEach((ticket) => dashboardTickets.set(ticket.id, ticket));
+  delta.removed.forEach((id) => dashboardTickets.delete(id));
+  applyDashboardCounters(delta);
+  renderDashboardTickets();
+};
+
+const startDashboardPolling = (): void => {
+  if (dashboardPoll !== null) {
+    return;
+  }
+  void loadDashboard();
+  dashboardPoll = window.setInterval(() => void loadDashboard(), DASHBOARD_POLL_MS);
+};
+
+const stopDashboardPolling = (): void => {
+  if (dashboardPoll !== null) {
+    window.clearInterval(dashboardPoll);
+    dashboardPoll = null;
+  }
+};
+
+const connectDashboard = (): void => {
+  if (dashboardStream) {
+    return;
+  }
+  if (!("EventSource" in window)) {
+    startDashboardPolling();
+    return;
+  }
+
+  pill.textContent = "sincronizando…";
+  const stream = new EventSource("/api/dashboard/stream");
+  dashboardStream = stream;
+
+  stream.addEventListener("snapshot", (event) => {
+    stopDashboardPolling();
+    applyDashboardSummary(JSON.parse((event as MessageEvent<string>).data) as DashboardSummary);
+  });
+
+  stream.addEventListener("delta", (event) => {
+    applyDashboardDelta(JSON.parse((event as MessageEvent<string>).data) as DashboardDelta);
+  });
+
+  // o navegador reconecta sozinho; se desistir (CLOSED), o painel passa a ser atualizado por polling até a
+  // próxima chamada a connectDashboard tentar o stream de novo
+  stream.onerror = () => {
+    if (stream.readyState === EventSource.CLOSED) {
+      dashboardStream = null;
+      startDashboardPolling();
+      return;
+    }
+    pill.textContent = "reconectando…";
+  };
+};
+
 const showToast = (message: string): void => {
   const toast = document.createElement("div");
   toast.textContent = message;
@@ -120,10 +206,11 @@ form.addEventListener("submit", (event) => {
     device: formData.get("device") as string,
     description: formData.get("description") as string,
     status: "TRIAGEM",
-    etaMinutes: 45,
+    entryDate: new Date().toLocaleString("pt-BR", { dateStyle: "short", timeStyle: "short" }).replace(",", ""),
   };
 
-  renderTickets([ticket, ...currentTickets]);
+  dashboardTickets.set(ticket.id, ticket);
+  renderDashboardTickets();
   form.reset();
   showToast("Chamado registrado (mock)");
 });
@@ -133,4 +220,4 @@ ctaButton.addEventListener("click", () => {
   (form.elements.namedItem("customer") as HTMLInputElement)?.focus();
 });
 
-loadDashboard();
+connectDashboard();
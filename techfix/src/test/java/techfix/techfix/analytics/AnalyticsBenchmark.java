@@ -0,0 +1,107 @@
+package techfix.techfix.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import techfix.techfix.analytics.TicketAnalytics.Dimension;
+import techfix.techfix.analytics.TicketAnalytics.Granularity;
+import techfix.techfix.analytics.TicketAnalytics.TurnaroundStats;
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+import techfix.techfix.ticket.TicketService;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketEvent;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AnalyticsBenchmark {
+
+	private static final String[] DEVICES = { "Geladeira", "Televisão", "Fogão", "Micro-ondas", "Lavadora" };
+	private static final Duration HISTORY = Duration.ofDays(180);
+
+	@Param({ "1000", "100000", "1000000" })
+	public int tickets;
+
+	private TicketAnalytics analytics;
+	private Instant end;
+	private Instant start;
+	private long[] finishedAt;
+	private long[] turnaround;
+	private String[] devices;
+
+	@Setup
+	public void populate() {
+		TicketService ticketService = new TicketService(
+				new CustomerService(EntityRepository.none(), SequenceStore.local()), EntityRepository.none(),
+				SequenceStore.local());
+		analytics = new TicketAnalytics(ticketService, Duration.ofDays(14), Duration.ofDays(730));
+		end = Instant.parse("2026-10-18T00:00:00Z");
+		start = end.minus(Duration.ofDays(30));
+		finishedAt = new long[tickets];
+		turnaround = new long[tickets];
+		devices = new String[tickets];
+		Random random = new Random(7);
+		Instant first = end.minus(HISTORY);
+		for (int i = 0; i < tickets; i++) {
+			Instant entry = first.plusMillis(HISTORY.toMillis() * i / tickets);
+			long total = Duration.ofMinutes(30 + random.nextInt(14 * 24 * 60)).toMillis();
+			String device = DEVICES[i % DEVICES.length];
+			Ticket ticket = new Ticket("TCK-" + i, "CLI-001", "Luana Costa", device + " Modelo", "Não funciona",
+					TicketStatus.TRIAGEM, entry);
+			analytics.record(new TicketEvent(ticket, null, device, entry));
+			analytics.record(new TicketEvent(ticket, TicketStatus.TRIAGEM, null, entry.plusMillis(total / 3)));
+			analytics.record(new TicketEvent(ticket, TicketStatus.EM_ANDAMENTO, null, entry.plusMillis(total)));
+			finishedAt[i] = entry.toEpochMilli() + total;
+			turnaround[i] = total;
+			devices[i] = device;
+		}
+	}
+
+	@Benchmark
+	public List<TurnaroundStats> buckets() {
+		return analytics.turnaround(Dimension.DEVICE, Granularity.DAY, start, end);
+	}
+
+	@Benchmark
+	public List<long[]> fullRecompute() {
+		List<long[]> percentiles = new ArrayList<>();
+		for (String device : DEVICES) {
+			long[] values = new long[tickets];
+			int n = 0;
+			for (int i = 0; i < tickets; i++) {
+				if (devices[i].equals(device) && finishedAt[i] >= start.toEpochMilli()
+						&& finishedAt[i] <= end.toEpochMilli()) {
+					values[n++] = turnaround[i];
+				}
+			}
+			Arrays.sort(values, 0, n);
+			if (n > 0) {
+				percentiles.add(new long[] { values[(n - 1) / 2], values[(int) Math.ceil(n * 0.9) - 1] });
+			}
+		}
+		return percentiles;
+	}
+}
@@ -0,0 +1,52 @@
+package techfix.techfix.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DurationSketchTest {
+
+	@Test
+	void quantilesStayWithinRelativeAccuracy() {
+		Random random = new Random(42);
+		long[] samples = new long[50_000];
+		DurationSketch sketch = new DurationSketch();
+		for (int i = 0; i < samples.length; i++) {
+			samples[i] = (long) Math.exp(random.nextDouble() * 20);
+			sketch.add(samples[i]);
+		}
+		Arrays.sort(samples);
+
+		for (double q : new double[] { 0.5, 0.9, 0.99 }) {
+			long exact = samples[(int) Math.ceil(q * samples.length) - 1];
+			long estimate = sketch.quantile(q);
+			assertTrue(Math.abs(estimate - exact) <= exact * DurationSketch.ACCURACY + 1,
+					"q=" + q + " exato=" + exact + " estimado=" + estimate);
+		}
+		assertEquals(samples[samples.length - 1], sketch.max());
+	}
+
+	@Test
+	void mergedSketchesMatchSingleSketchOverAllSamples() {
+		DurationSketch all = new DurationSketch();
+		DurationSketch morning = new DurationSketch();
+		DurationSketch afternoon = new DurationSketch();
+		for (long millis = 0; millis < 10_000; millis += 7) {
+			all.add(millis * 1_000);
+			(millis % 2 == 0 ? morning : afternoon).add(millis * 1_000);
+		}
+
+		DurationSketch merged = morning.copy();
+		merged.merge(afternoon);
+
+		assertEquals(all.count(), merged.count());
+		assertEquals(all.max(), merged.max());
+		for (double q : new double[] { 0.01, 0.5, 0.9, 0.99, 1.0 }) {
+			assertEquals(all.quantile(q), merged.quantile(q));
+		}
+	}
+}
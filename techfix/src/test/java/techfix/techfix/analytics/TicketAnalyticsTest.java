@@ -0,0 +1,169 @@
+package techfix.techfix.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import techfix.techfix.analytics.TicketAnalytics.Dimension;
+import techfix.techfix.analytics.TicketAnalytics.Granularity;
+import techfix.techfix.analytics.TicketAnalytics.InflowPoint;
+import techfix.techfix.analytics.TicketAnalytics.Overview;
+import techfix.techfix.analytics.TicketAnalytics.TurnaroundStats;
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+import techfix.techfix.ticket.TicketService;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketEvent;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+class TicketAnalyticsTest {
+
+	private static final Instant MONDAY = Instant.parse("2026-10-12T12:00:00Z");
+
+	private TicketAnalytics analytics;
+
+	@BeforeEach
+	void setUp() {
+		TicketService ticketService = new TicketService(
+				new CustomerService(EntityRepository.none(), SequenceStore.local()), EntityRepository.none(),
+				SequenceStore.local());
+		analytics = new TicketAnalytics(ticketService, Duration.ofDays(14), Duration.ofDays(730));
+	}
+
+	@Test
+	void turnaroundIsMergedAcrossBucketsByDeviceAndTechnician() {
+		repair("TCK-1", "Geladeira", "Carla", MONDAY, Duration.ofHours(2), Duration.ofHours(4));
+		repair("TCK-2", "Geladeira", "Bruno", MONDAY.plus(Duration.ofDays(1)), Duration.ofHours(1), Duration.ofHours(9));
+		repair("TCK-3", "Televisão", "Carla", MONDAY.plus(Duration.ofDays(2)), Duration.ofHours(3), Duration.ofHours(21));
+
+		Instant end = MONDAY.plus(Duration.ofDays(7));
+		List<TurnaroundStats> byDevice = analytics.turnaround(Dimension.DEVICE, Granularity.DAY, MONDAY, end);
+		assertEquals(List.of("Geladeira", "Televisão"), byDevice.stream().map(TurnaroundStats::key).toList());
+		assertEquals(2, byDevice.get(0).count());
+		assertEquals(9.0, byDevice.get(0).maxHours(), 9.0 * DurationSketch.ACCURACY);
+		assertEquals(21.0, byDevice.get(1).p50Hours(), 21.0 * DurationSketch.ACCURACY);
+
+		List<TurnaroundStats> byTechnician = analytics.turnaround(Dimension.TECHNICIAN, Granularity.HOUR, MONDAY, end);
+		assertEquals(List.of("Bruno", "Carla"), byTechnician.stream().map(TurnaroundStats::key).toList());
+		assertEquals(2, byTechnician.get(1).count());
+
+		List<TurnaroundStats> byStatus = analytics.turnaround(Dimension.STATUS, Granularity.DAY, MONDAY, end);
+		assertEquals(List.of("EM_ANDAMENTO", "TRIAGEM"), byStatus.stream().map(TurnaroundStats::key).toList());
+		assertEquals(3.0, byStatus.get(1).maxHours(), 3.0 * DurationSketch.ACCURACY);
+	}
+
+	@Test
+	void technicianIsAttributedOnceFromTheFirstDocument() {
+		open("TCK-1", "Geladeira", MONDAY);
+		analytics.assignTechnician("TCK-1", " ");
+		analytics.assignTechnician("TCK-1", "Carla");
+		analytics.assignTechnician("TCK-1", "Bruno");
+		analytics.record(new TicketEvent(ticket("TCK-1", "Geladeira", TicketStatus.FINALIZADO, MONDAY),
+				TicketStatus.TRIAGEM, null, MONDAY.plus(Duration.ofHours(2))));
+
+		List<TurnaroundStats> byTechnician = analytics.turnaround(Dimension.TECHNICIAN, Granularity.DAY, MONDAY,
+				MONDAY.plus(Duration.ofDays(1)));
+		assertEquals(List.of("Carla"), byTechnician.stream().map(TurnaroundStats::key).toList());
+	}
+
+	@Test
+	void inflowCountsCreatedAndFinalizedPerHour() {
+		repair("TCK-1", "Geladeira", null, MONDAY, Duration.ofMinutes(10), Duration.ofMinutes(20));
+		repair("TCK-2", "Geladeira", null, MONDAY.plus(Duration.ofMinutes(15)), Duration.ofHours(1),
+				Duration.ofHours(1));
+		open("TCK-3", "Fogão", MONDAY.plus(Duration.ofHours(3)));
+
+		List<InflowPoint> hours = analytics.inflow(Granularity.HOUR, MONDAY, MONDAY.plus(Duration.ofHours(5)));
+
+		assertEquals(List.of(MONDAY, MONDAY.plus(Duration.ofHours(1)), MONDAY.plus(Duration.ofHours(3))),
+				hours.stream().map(InflowPoint::start).toList());
+		assertEquals(2, hours.get(0).created());
+		assertEquals(1, hours.get(0).finalized());
+		assertEquals(1, hours.get(1).finalized());
+		assertEquals(1, hours.get(2).created());
+		assertEquals(List.of(), analytics.inflow(Granularity.HOUR, MONDAY.plus(Duration.ofDays(1)), MONDAY));
+	}
+
+	@Test
+	void overviewCoversDashboardCounters() {
+		Instant now = Instant.now();
+		open("TCK-1", "Geladeira", now.minus(Duration.ofMinutes(30)));
+		open("TCK-2", "Fogão", now.minus(Duration.ofMinutes(20)));
+		analytics.record(new TicketEvent(ticket("TCK-2", "Fogão", TicketStatus.EM_ANDAMENTO, now), TicketStatus.TRIAGEM,
+				null, now.minus(Duration.ofMinutes(10))));
+		repair("TCK-3", "Televisão", "Carla", now.minus(Duration.ofMinutes(5)), Duration.ofMinutes(1),
+				Duration.ofMinutes(2));
+
+		Overview overview = analytics.overview(now);
+
+		assertEquals(1, overview.openByStatus().get(TicketStatus.TRIAGEM));
+		assertEquals(1, overview.openByStatus().get(TicketStatus.EM_ANDAMENTO));
+		assertEquals(2, overview.pendingTickets());
+		assertEquals(3, overview.createdLast24Hours());
+		assertEquals(1, overview.turnaroundLast7Days().count());
+	}
+
+	@Test
+	void transitionsFromAnotherStateOrUnknownTicketsAreIgnored() {
+		Instant now = Instant.now();
+		open("TCK-1", "Geladeira", now.minus(Duration.ofMinutes(30)));
+		analytics.record(new TicketEvent(ticket("TCK-1", "Geladeira", TicketStatus.FINALIZADO, now),
+				TicketStatus.EM_ANDAMENTO, null, now.minus(Duration.ofMinutes(20))));
+		analytics.record(new TicketEvent(ticket("TCK-2", "Fogão", TicketStatus.FINALIZADO, now), TicketStatus.TRIAGEM,
+				null, now.minus(Duration.ofMinutes(10))));
+
+		Overview overview = analytics.overview(now);
+
+		assertEquals(1, overview.openByStatus().get(TicketStatus.TRIAGEM));
+		assertEquals(0, overview.openByStatus().get(TicketStatus.EM_ANDAMENTO));
+		assertEquals(1, overview.pendingTickets());
+		assertEquals(0, overview.turnaroundLast7Days().count());
+	}
+
+	@Test
+	void replayedTicketsOnlyFeedInflowAndOpenCounts() {
+		TicketService ticketService = new TicketService(
+				new CustomerService(EntityRepository.none(), SequenceStore.local()), EntityRepository.none(),
+				SequenceStore.local());
+		ticketService.seedData();
+		ticketService.changeStatus("TCK-1047", null, TicketStatus.EM_ANDAMENTO);
+		TicketAnalytics replayed = new TicketAnalytics(ticketService, Duration.ofDays(14), Duration.ofDays(730));
+
+		ticketService.changeStatus("TCK-1048", null, TicketStatus.FINALIZADO);
+		Instant now = Instant.now();
+		Overview overview = replayed.overview(now);
+
+		assertEquals(3, overview.openByStatus().get(TicketStatus.EM_ANDAMENTO));
+		assertEquals(3, overview.pendingTickets());
+		assertEquals(1, overview.turnaroundLast7Days().count());
+		assertEquals(List.of("Micro-ondas"), replayed
+				.turnaround(Dimension.DEVICE, Granularity.DAY, now.minus(Duration.ofDays(1)), now).stream()
+				.map(TurnaroundStats::key).toList());
+		assertEquals(4, replayed.inflow(Granularity.DAY, now.minus(Duration.ofDays(3)), now).stream()
+				.mapToLong(InflowPoint::created).sum());
+	}
+
+	private void repair(String id, String deviceType, String technician, Instant entry, Duration triage,
+			Duration total) {
+		open(id, deviceType, entry);
+		analytics.assignTechnician(id, technician);
+		analytics.record(new TicketEvent(ticket(id, deviceType, TicketStatus.EM_ANDAMENTO, entry),
+				TicketStatus.TRIAGEM, null, entry.plus(triage)));
+		analytics.record(new TicketEvent(ticket(id, deviceType, TicketStatus.FINALIZADO, entry),
+				TicketStatus.EM_ANDAMENTO, null, entry.plus(total)));
+	}
+
+	private void open(String id, String deviceType, Instant entry) {
+		analytics.record(new TicketEvent(ticket(id, deviceType, TicketStatus.TRIAGEM, entry), null, deviceType, entry));
+	}
+
+	private static Ticket ticket(String id, String deviceType, TicketStatus status, Instant entry) {
+		return new Ticket(id, "CLI-001", "Luana Costa", deviceType + " Modelo", "Não funciona", status, entry);
+	}
+}
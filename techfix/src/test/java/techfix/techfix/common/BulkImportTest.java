@@ -0,0 +1,98 @@
+package techfix.techfix.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import techfix.techfix.common.BulkImport.LineError;
+import techfix.techfix.customer.CustomerController.CreateCustomerRequest;
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+
+class BulkImportTest {
+
+	private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+	private final CustomerService customerService = new CustomerService(EntityRepository.none(), SequenceStore.local());
+
+	@Test
+	void importsNdjsonAndReportsRejectedLines() throws IOException {
+		String body = """
+				{"name":"Ana Prado","cpf":"567.890.123-44","phone":"(11) 91234-5678","address":"Rua A, 1"}
+				{"name":"Ana Prado","cpf":"123.456.789-00","phone":"(11) 91234-5678","address":"Rua A, 1"}
+
+				{"name":"","cpf":"678.901.234-55","phone":"(11) 91234-5678","address":"Rua B, 2"}
+				{não é json
+				{"name":"Bruno Reis","cpf":"789.012.345-66","phone":"(11) 92345-6789","address":"Rua C, 3"}
+				""";
+
+		BulkImport.Report report = run(body, RecordFormat.NDJSON);
+
+		assertEquals(5L, report.processed());
+		assertEquals(2L, report.imported());
+		assertEquals(3L, report.rejected());
+		assertEquals(List.of(2L, 4L, 5L), report.errors().stream().map(LineError::line).toList());
+		assertEquals("Já existe cliente cadastrado com o CPF informado", report.errors().get(0).message());
+		assertTrue(report.errors().get(1).message().startsWith("name: "));
+		assertEquals("JSON inválido", report.errors().get(2).message());
+		assertEquals("Bruno Reis", customerService.search("789.012.345-66").get(0).name());
+	}
+
+	@Test
+	void importsCsvWithQuotedFieldsAndSemicolons() throws IOException {
+		String body = "\uFEFFname;cpf;phone;address\n"
+				+ "\"Carla \"\"Cacá\"\" Souza\";890.123.456-77;(11) 93456-7890;\"Rua D; 4\nApto 12\"\n"
+				+ "Diego Lima;901.234.567-88;(11) 94567-8901\n";
+
+		BulkImport.Report report = run(body, RecordFormat.CSV);
+
+		assertEquals(2L, report.processed());
+		assertEquals(1L, report.imported());
+		assertEquals(new LineError(4, "Esperadas 4 colunas, encontradas 3"), report.errors().get(0));
+		var carla = customerService.search("890.123.456-77").get(0);
+		assertEquals("Carla \"Cacá\" Souza", carla.name());
+		assertEquals("Rua D; 4\nApto 12", carla.address());
+	}
+
+	@Test
+	void unclosedQuoteIsRejectedOnceTheRecordGrowsTooLarge() throws IOException {
+		StringBuilder body = new StringBuilder("name;cpf;phone;address\n\"Eva Nunes;012.345.678-99;(11) 95678-9012;Rua E\n");
+		String filler = "x".repeat(999) + "\n";
+		int fillerLines = RecordReader.MAX_RECORD_LENGTH / filler.length() + 1;
+		body.append(filler.repeat(fillerLines));
+		body.append("Fábio Dias;123.123.123-12;(11) 96789-0123;Rua F, 6\n");
+
+		BulkImport.Report report = run(body.toString(), RecordFormat.CSV);
+
+		assertEquals(1L, report.imported());
+		assertEquals(new LineError(2, "Registro excede %d caracteres; verifique aspas não fechadas"
+				.formatted(RecordReader.MAX_RECORD_LENGTH)), report.errors().get(0));
+		assertEquals("Fábio Dias", customerService.search("123.123.123-12").get(0).name());
+	}
+
+	@Test
+	void parsesNumbersStrictly() {
+		assertEquals(12, BulkImport.integer(Map.of("quantity", "12"), "quantity"));
+		assertEquals(new BigDecimal("10.50"), BulkImport.decimal(Map.of("price", "10,50"), "price"));
+		var ex = assertThrows(IllegalArgumentException.class,
+				() -> BulkImport.integer(Map.of("quantity", "1.5"), "quantity"));
+		assertEquals("quantity: número inteiro inválido", ex.getMessage());
+	}
+
+	private BulkImport.Report run(String body, RecordFormat format) throws IOException {
+		RecordReader reader = new RecordReader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+		return BulkImport.run(reader, validator, fields -> new CreateCustomerRequest(fields.get("name"),
+				fields.get("cpf"), fields.get("phone"), fields.get("address")), customerService::createAll);
+	}
+}
@@ -0,0 +1,106 @@
+package techfix.techfix.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class ConditionalGetTest {
+
+	private final ConditionalGet conditionalGet = new ConditionalGet(new JsonMapper(), 1024, 256);
+
+	@Test
+	void matchesStrongWeakListedAndWildcardTags() {
+		assertTrue(ConditionalGet.matches("\"tickets-7\"", "\"tickets-7\""));
+		assertTrue(ConditionalGet.matches("W/\"tickets-7\"", "\"tickets-7\""));
+		assertTrue(ConditionalGet.matches("\"tickets-6\", \"tickets-7\"", "\"tickets-7\""));
+		assertTrue(ConditionalGet.matches("*", "\"tickets-7\""));
+		assertFalse(ConditionalGet.matches("\"tickets-6\"", "\"tickets-7\""));
+		assertFalse(ConditionalGet.matches(null, "\"tickets-7\""));
+	}
+
+	@Test
+	void answersNotModifiedWithoutRenderingAndCachesBodiesPerVersion() {
+		AtomicInteger renders = new AtomicInteger();
+
+		ResponseEntity<byte[]> first = conditionalGet.respond(null, "tickets", 3L, "", () -> {
+			renders.incrementAndGet();
+			return ResponseEntity.ok(List.of("TCK-1045"));
+		});
+		ResponseEntity<byte[]> repeat = conditionalGet.respond(null, "tickets", 3L, "", () -> {
+			renders.incrementAndGet();
+			return ResponseEntity.ok(List.of("TCK-1045"));
+		});
+		String etag = first.getHeaders().getETag();
+		ResponseEntity<byte[]> unchanged = conditionalGet.respond(etag, "tickets", 3L, "", () -> {
+			renders.incrementAndGet();
+			return ResponseEntity.ok(List.of("TCK-1045"));
+		});
+
+		assertEquals(1, renders.get());
+		assertTrue(etag.startsWith("\"tickets-") && etag.endsWith("-3\""));
+		assertEquals(first.getBody(), repeat.getBody());
+		assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+
+		conditionalGet.respond(etag, "tickets", 4L, "", () -> {
+			renders.incrementAndGet();
+			return ResponseEntity.ok(List.of("TCK-1045", "TCK-1046"));
+		});
+		assertEquals(2, renders.get());
+	}
+
+	@Test
+	void tagsFromAnotherBootOrInstanceNeverMatchTheSameVersion() {
+		ConditionalGet restarted = new ConditionalGet(new JsonMapper(), 1024, 256);
+		AtomicInteger renders = new AtomicInteger();
+
+		String before = conditionalGet.respond(null, "customers", 1L, "", () -> ResponseEntity.ok(List.of("CLI-001")))
+				.getHeaders().getETag();
+		ResponseEntity<byte[]> after = restarted.respond(before, "customers", 1L, "", () -> {
+			renders.incrementAndGet();
+			return ResponseEntity.ok(List.of("CLI-005"));
+		});
+
+		assertFalse(before.equals(after.getHeaders().getETag()));
+		assertEquals(HttpStatus.OK, after.getStatusCode());
+		assertEquals(1, renders.get());
+	}
+
+	@Test
+	void bodyCacheIsBoundedByTotalBytesAndSkipsOversizedBodies() {
+		ConditionalGet small = new ConditionalGet(new JsonMapper(), 100, 60);
+		AtomicInteger renders = new AtomicInteger();
+
+		respond(small, "clientes", "a".repeat(40), renders);
+		respond(small, "estoque", "b".repeat(40), renders);
+		respond(small, "chamados", "c".repeat(40), renders);
+		assertEquals(3, renders.get());
+		assertTrue(small.cachedBytes() <= 100);
+
+		respond(small, "chamados", "c".repeat(40), renders);
+		assertEquals(3, renders.get());
+		respond(small, "clientes", "a".repeat(40), renders);
+		assertEquals(4, renders.get());
+
+		long cached = small.cachedBytes();
+		respond(small, "relatorio", "r".repeat(80), renders);
+		respond(small, "relatorio", "r".repeat(80), renders);
+		assertEquals(6, renders.get());
+		assertEquals(cached, small.cachedBytes());
+	}
+
+	private static void respond(ConditionalGet cache, String resource, String body, AtomicInteger renders) {
+		cache.respond(null, resource, 1L, "", () -> {
+			renders.incrementAndGet();
+			return ResponseEntity.ok(body);
+		});
+	}
+}
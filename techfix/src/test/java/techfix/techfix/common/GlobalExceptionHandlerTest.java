@@ -0,0 +1,125 @@
+package techfix.techfix.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import jakarta.validation.Validation;
+import techfix.techfix.RestExceptionHandler;
+import techfix.techfix.analytics.TicketAnalytics;
+import techfix.techfix.analytics.TicketAnalytics.Dimension;
+import techfix.techfix.analytics.TicketAnalytics.Granularity;
+import techfix.techfix.analytics.TicketAnalytics.TurnaroundStats;
+import techfix.techfix.customer.CustomerController;
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.metrics.TechfixMetrics;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+import techfix.techfix.report.PdfCache;
+import techfix.techfix.report.PdfReportService;
+import techfix.techfix.report.ReportJobService;
+import techfix.techfix.ticket.TicketController;
+import techfix.techfix.ticket.TicketService;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+class GlobalExceptionHandlerTest {
+
+	private final TechfixMetrics metrics = TechfixMetrics.noop();
+	private final CustomerService customerService = new CustomerService(EntityRepository.none(), SequenceStore.local());
+	private final TicketService ticketService = new TicketService(customerService, EntityRepository.none(),
+			SequenceStore.local());
+	private final ReportJobService reportJobService = new ReportJobService(1, 1, Duration.ofMinutes(10),
+			Duration.ofMillis(50), metrics);
+	private final TicketAnalytics ticketAnalytics = new TicketAnalytics(ticketService, Duration.ofDays(14),
+			Duration.ofDays(730));
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		ticketService.seedData();
+		ConditionalGet conditionalGet = new ConditionalGet(new tools.jackson.databind.json.JsonMapper(), 1 << 20,
+				64 << 10);
+		TicketController tickets = new TicketController(ticketService, customerService, new PdfReportService(),
+				reportJobService, new PdfCache(1 << 20), conditionalGet, ticketAnalytics);
+		CustomerController customers = new CustomerController(customerService, ticketService,
+				Validation.buildDefaultValidatorFactory().getValidator(), metrics, conditionalGet);
+		// registrada primeiro de propósito: quem decide a precedência é o @Order, não a ordem de registro
+		mvc = MockMvcBuilders.standaloneSetup(tickets, customers)
+				.setControllerAdvice(new RestExceptionHandler(metrics), new GlobalExceptionHandler(metrics))
+				.build();
+	}
+
+	@Test
+	void conflictingStatusTransitionAnswers409() throws Exception {
+		mvc.perform(patch("/api/tickets/TCK-1047/status").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"FINALIZADO\",\"expectedStatus\":\"EM_ANDAMENTO\"}"))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.message").value("Conflito de estado"));
+
+		mvc.perform(patch("/api/tickets/TCK-1047/status").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"FINALIZADO\"}"))
+				.andExpect(status().isOk());
+		mvc.perform(patch("/api/tickets/TCK-1047/status").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"TRIAGEM\"}"))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void unknownTicketAnswers404() throws Exception {
+		mvc.perform(patch("/api/tickets/TCK-9999/status").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"FINALIZADO\"}"))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message").value("Recurso não encontrado"));
+	}
+
+	@Test
+	void unsupportedRecordFormatAnswers415() throws Exception {
+		mvc.perform(get("/api/customers/export").param("format", "xml"))
+				.andExpect(status().isUnsupportedMediaType())
+				.andExpect(jsonPath("$.message").value("Formato não suportado"));
+
+		mvc.perform(post("/api/customers/import").contentType("application/xml").content("<clientes/>"))
+				.andExpect(status().isUnsupportedMediaType());
+	}
+
+	@Test
+	void pdfWithoutAFreeRenderPermitAnswers503BeforeTheBodyIsCommitted() throws Exception {
+		Consumer<OutputStream> holder = reportJobService.reserve("laudo", output -> {
+		});
+		try {
+			mvc.perform(post("/api/tickets/TCK-1045/laudo").contentType(MediaType.APPLICATION_JSON)
+					.content("""
+							{"equipmentCondition":"Gabinete íntegro","problemDescription":"Não gela",
+							"diagnostic":"Termostato travado","actionsTaken":"Troca do termostato",
+							"recommendations":"Limpar a serpentina","technicianName":"Rafael Lima"}"""))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string("Retry-After", "5"));
+		} finally {
+			holder.accept(new ByteArrayOutputStream());
+		}
+
+		// laudo recusado não atribui o técnico ao chamado
+		ticketService.changeStatus("TCK-1045", null, TicketStatus.FINALIZADO);
+		Instant now = Instant.now();
+		assertEquals(List.of("Não atribuído"), ticketAnalytics
+				.turnaround(Dimension.TECHNICIAN, Granularity.DAY, now.minus(Duration.ofDays(1)), now.plusSeconds(60))
+				.stream().map(TurnaroundStats::key).toList());
+	}
+}
@@ -0,0 +1,55 @@
+package techfix.techfix.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import techfix.techfix.common.RecordReader.Record;
+import techfix.techfix.common.RecordWriter.Column;
+
+class RecordWriterTest {
+
+	private record Row(String name, Integer quantity) {
+	}
+
+	private static final List<Column<Row>> COLUMNS = List.of(
+			new Column<>("name", Row::name),
+			new Column<>("quantity", Row::quantity));
+
+	@Test
+	void writesEscapedNdjson() throws IOException {
+		String output = write(RecordFormat.NDJSON, List.of(new Row("Tela \"OLED\"\n6.1", 3), new Row(null, null)));
+
+		assertEquals("{\"name\":\"Tela \\\"OLED\\\"\\n6.1\",\"quantity\":3}\n{\"name\":null,\"quantity\":null}\n",
+				output);
+	}
+
+	@Test
+	void csvOutputRoundTripsThroughReader() throws IOException {
+		String output = write(RecordFormat.CSV, List.of(new Row("Cabo, USB-C \"1m\"", 10), new Row("Bateria", 2)));
+
+		RecordReader reader = new RecordReader(
+				new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)), RecordFormat.CSV);
+		Record first = reader.next();
+		Record second = reader.next();
+
+		assertEquals(Map.of("name", "Cabo, USB-C \"1m\"", "quantity", "10"), first.fields());
+		assertEquals(Map.of("name", "Bateria", "quantity", "2"), second.fields());
+		assertEquals(null, reader.next());
+	}
+
+	private static String write(RecordFormat format, List<Row> rows) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		RecordWriter<Row> writer = new RecordWriter<>(output, format, COLUMNS);
+		writer.writeAll(rows);
+		writer.finish();
+		return output.toString(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,72 @@
+package techfix.techfix.customer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import techfix.techfix.customer.CustomerService.Customer;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerSearchBenchmark {
+
+	private static final String[] FIRST_NAMES = { "Luana", "Carlos", "Maria", "João", "Ana", "Pedro", "Júlia",
+			"Rafael", "Beatriz", "Lucas", "Fernanda", "Gustavo", "Camila", "Thiago", "Letícia", "Bruno" };
+	private static final String[] LAST_NAMES = { "Costa", "Henrique", "Silva", "Santos", "Oliveira", "Souza",
+			"Pereira", "Lima", "Gonçalves", "Ribeiro", "Araújo", "Carvalho", "Almeida", "Rocha", "Conceição" };
+
+	@Param({ "1000", "100000" })
+	public int customers;
+
+	@Param({ "j", "jo", "araujo sil", "456.78", "CLI-0999" })
+	public String query;
+
+	private final Map<String, Customer> store = new ConcurrentHashMap<>();
+	private final CustomerSearchIndex index = new CustomerSearchIndex();
+
+	@Setup
+	public void populate() {
+		for (int i = 1; i <= customers; i++) {
+			String name = FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / 7) % LAST_NAMES.length] + " "
+					+ LAST_NAMES[(i / 3) % LAST_NAMES.length];
+			String digits = "%011d".formatted((i * 7919L) % 100_000_000_000L);
+			String cpf = digits.substring(0, 3) + "." + digits.substring(3, 6) + "." + digits.substring(6, 9) + "-"
+					+ digits.substring(9);
+			Customer customer = new Customer("CLI-%03d".formatted(i), name, cpf, "(11) 90000-0000", "Rua Teste, " + i);
+			store.put(customer.id(), customer);
+			index.add(customer);
+		}
+	}
+
+	@Benchmark
+	public List<Customer> indexedSearch() {
+		return index.search(query, CustomerService.DEFAULT_SEARCH_LIMIT);
+	}
+
+	@Benchmark
+	public List<Customer> fullScan() {
+		String normalized = query.toLowerCase();
+		String digits = query.replaceAll("[^0-9]", "");
+
+		return store.values().stream().filter(customer -> customer.id().toLowerCase().contains(normalized)
+				|| customer.name().toLowerCase().contains(normalized)
+				|| customer.cpf().replaceAll("[^0-9]", "").contains(digits)).toList();
+	}
+}
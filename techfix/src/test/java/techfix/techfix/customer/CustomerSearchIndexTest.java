@@ -0,0 +1,66 @@
+package techfix.techfix.customer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import techfix.techfix.customer.CustomerService.Customer;
+
+class CustomerSearchIndexTest {
+
+	private final CustomerSearchIndex index = new CustomerSearchIndex();
+
+	@BeforeEach
+	void populate() {
+		add("CLI-001", "Luana Costa", "123.456.789-00");
+		add("CLI-002", "Carlos Henrique", "234.567.890-11");
+		add("CLI-003", "Maria Silva", "345.678.901-22");
+		add("CLI-004", "João Santos", "456.789.012-33");
+		add("CLI-005", "Silvana Prado", "567.890.123-44");
+		add("CLI-006", "Pedro Onsilva", "678.901.234-55");
+	}
+
+	@Test
+	void wordPrefixesRankAboveMatchesInsideAWord() {
+		assertEquals(List.of("CLI-003", "CLI-005", "CLI-006"), ids(index.search("silva", 20)));
+		assertEquals(List.of("CLI-003", "CLI-005"), ids(index.search("silva", 2)));
+	}
+
+	@Test
+	void accentsAndCaseAreFoldedOnBothSides() {
+		assertEquals(List.of("CLI-004"), ids(index.search("joao", 20)));
+		assertEquals(List.of("CLI-004"), ids(index.search("JOÃO SAN", 20)));
+		assertEquals(List.of("CLI-002"), ids(index.search("henríque", 20)));
+	}
+
+	@Test
+	void cpfMatchesOnDigitsWhateverThePunctuation() {
+		assertEquals(List.of("CLI-001"), ids(index.search("12345678900", 20)));
+		assertEquals(List.of("CLI-002", "CLI-004", "CLI-001", "CLI-003"), ids(index.search("456.78", 20)));
+		assertEquals(List.of("CLI-003"), ids(index.search("cli-003", 20)));
+	}
+
+	@Test
+	void singleCharacterMatchesWordStartsOnly() {
+		assertEquals(List.of("CLI-004", "CLI-003", "CLI-005"), ids(index.search("s", 20)));
+		assertEquals(List.of("CLI-005"), ids(index.search("5", 20)));
+		assertEquals(List.of(), ids(index.search("x", 20)));
+	}
+
+	@Test
+	void loneDigitBesideTextIsIgnored() {
+		assertEquals(List.of("CLI-004"), ids(index.search("joao 1", 20)));
+		assertEquals(List.of("CLI-005"), ids(index.search("silvana 9", 20)));
+	}
+
+	private void add(String id, String name, String cpf) {
+		index.add(new Customer(id, name, cpf, "(11) 90000-0000", "Rua Teste, 1"));
+	}
+
+	private static List<String> ids(List<Customer> customers) {
+		return customers.stream().map(Customer::id).toList();
+	}
+}
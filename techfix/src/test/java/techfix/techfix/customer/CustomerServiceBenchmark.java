@@ -0,0 +1,73 @@
+package techfix.techfix.customer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CustomerServiceBenchmark {
+
+	static final int CREATES_PER_OP = 1000;
+
+	private static final String[] NAMES = { "Luana Costa", "Carlos Henrique", "Maria Silva", "João Santos",
+			"Ana Araújo", "Pedro Lima", "Júlia Rocha", "Rafael Souza" };
+
+	@Param({ "1000", "100000", "1000000" })
+	public int customers;
+
+	@Param({ "silva", "456.78" })
+	public String query;
+
+	private CustomerService customerService;
+	private long next;
+
+	@Setup(Level.Iteration)
+	public void populate() {
+		customerService = new CustomerService(EntityRepository.none(), SequenceStore.local());
+		for (next = 0; next < customers; next++) {
+			create(next);
+		}
+	}
+
+	@Benchmark
+	public List<Customer> search() {
+		return customerService.search(query);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 3, batchSize = CREATES_PER_OP)
+	@Measurement(iterations = 5, batchSize = CREATES_PER_OP)
+	public Customer create() {
+		return create(next++);
+	}
+
+	private Customer create(long n) {
+		String digits = "%011d".formatted(n * 7919L % 100_000_000_000L);
+		String cpf = digits.substring(0, 3) + "." + digits.substring(3, 6) + "." + digits.substring(6, 9) + "-"
+				+ digits.substring(9);
+		return customerService.create(NAMES[(int) (n % NAMES.length)] + " " + n, cpf, "(11) 90000-0000",
+				"Rua Teste, " + n);
+	}
+}
@@ -0,0 +1,72 @@
+package techfix.techfix.customer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+
+class CustomerServiceTest {
+
+	private final CustomerService customerService = new CustomerService(EntityRepository.none(), SequenceStore.local());
+
+	@Test
+	void rejectsCpfAlreadyInUse() {
+		assertThrows(IllegalArgumentException.class, () -> customerService.create("Outra Luana", "123.456.789-00",
+				"(11) 90000-0000", "Rua A, 1"));
+	}
+
+	@Test
+	void concurrentSignupsWithSameCpfCreateExactlyOneCustomer() throws Exception {
+		int threads = 16;
+		int distinctCpfs = 250;
+		int initialSize = customerService.findAll().size();
+		AtomicInteger rejected = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < distinctCpfs; i++) {
+						try {
+							customerService.create("Cliente " + i, cpf(i), "(11) 90000-0000", "Rua B, " + i);
+						} catch (IllegalArgumentException ex) {
+							rejected.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(initialSize + distinctCpfs, customerService.findAll().size());
+		assertEquals((threads - 1) * distinctCpfs, rejected.get());
+		assertEquals(initialSize + distinctCpfs,
+				customerService.findAll().stream().map(CustomerService.Customer::cpf).distinct().count());
+	}
+
+	private static String cpf(int i) {
+		String digits = "%011d".formatted(90_000_000_000L + i);
+		return digits.substring(0, 3) + "." + digits.substring(3, 6) + "." + digits.substring(6, 9) + "-"
+				+ digits.substring(9);
+	}
+}
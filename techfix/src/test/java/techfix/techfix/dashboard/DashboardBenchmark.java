@@ -0,0 +1,74 @@
+package techfix.techfix.dashboard;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tools.jackson.databind.json.JsonMapper;
+import techfix.techfix.common.ConditionalGet;
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.dashboard.DashboardController.DashboardSummary;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+import techfix.techfix.ticket.TicketService;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DashboardBenchmark {
+
+	private static final DateTimeFormatter NEXT_APPOINTMENT_FORMAT = DateTimeFormatter.ofPattern("dd/MM HH:mm");
+
+	@Param({ "1000", "100000", "1000000" })
+	public int tickets;
+
+	private TicketService ticketService;
+	private DashboardController dashboardController;
+
+	@Setup
+	public void populate() {
+		ticketService = new TicketService(new CustomerService(EntityRepository.none(), SequenceStore.local()),
+				EntityRepository.none(), SequenceStore.local());
+		for (int i = 0; i < tickets; i++) {
+			ticketService.create("CLI-00" + (i % 4 + 1), "Geladeira", "Modelo " + i, "Não gela o suficiente");
+		}
+		dashboardController = new DashboardController(ticketService,
+				new DashboardStream(ticketService, Duration.ofMillis(250), Duration.ofSeconds(15), 32,
+						Duration.ofSeconds(10), 4),
+				new ConditionalGet(new JsonMapper(), 8 << 20, 256 << 10));
+	}
+
+	@Benchmark
+	public DashboardSummary incremental() {
+		return dashboardController.summary();
+	}
+
+	@Benchmark
+	public DashboardSummary fullRecompute() {
+		var allTickets = ticketService.findAll();
+		var pendingTickets = allTickets.stream().filter(t -> t.status() != TicketStatus.FINALIZADO).toList();
+
+		return new DashboardSummary(pendingTickets.size(), 6,
+				LocalDateTime.now().plusHours(2).format(NEXT_APPOINTMENT_FORMAT), allTickets.size(),
+				pendingTickets.stream().map(ticket -> new DashboardController.Ticket(ticket.id(),
+						ticket.customerName(), ticket.device(), ticket.status().name(),
+						TicketService.DATE_FORMAT.format(ticket.entryTime()))).toList());
+	}
+}
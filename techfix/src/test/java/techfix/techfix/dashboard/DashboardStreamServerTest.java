@@ -0,0 +1,125 @@
+package techfix.techfix.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+import techfix.techfix.ticket.TicketService;
+
+// cliente real, pelo socket: o que fica parado não lê nada e tem buffer de recepção mínimo, então as escritas do
+// servidor param de verdade e só o timeout de escrita do Tomcat as destrava
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"techfix.dashboard.stream.coalesce=10ms",
+		"techfix.dashboard.stream.send-timeout=300ms",
+		"techfix.dashboard.stream.sender-threads=2",
+		"server.tomcat.connection-timeout=1s" })
+class DashboardStreamServerTest {
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@Autowired
+	private DashboardStream dashboardStream;
+
+	@Autowired
+	private TicketService ticketService;
+
+	@Test
+	void clientThatStopsReadingIsDisconnectedWhileOthersKeepReceiving() throws Exception {
+		try (Socket stalled = new Socket(); Socket healthy = new Socket()) {
+			stalled.setReceiveBufferSize(1024);
+			stalled.connect(new InetSocketAddress("localhost", port));
+			subscribe(stalled);
+			healthy.connect(new InetSocketAddress("localhost", port));
+			subscribe(healthy);
+			AtomicInteger deltas = countDeltas(healthy.getInputStream());
+			await(() -> dashboardStream.subscribers() == 2, 10);
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+			while (dashboardStream.subscribers() > 1 && System.nanoTime() < deadline) {
+				for (int i = 0; i < 60; i++) {
+					ticketService.create("CLI-00" + (i % 4 + 1), "Geladeira Frost Free Duplex",
+							"Modelo de teste com nome comprido " + i, "Não gela o suficiente");
+				}
+				Thread.sleep(10);
+			}
+			assertEquals(1, dashboardStream.subscribers());
+
+			int seen = deltas.get();
+			ticketService.create("CLI-001", "Notebook", "Inspiron", "Não liga");
+			await(() -> deltas.get() > seen, 10);
+			assertTrue(deltas.get() > seen);
+
+			assertTrue(closedByServer(stalled), "conexão parada deveria ser encerrada pelo servidor");
+		}
+	}
+
+	private static void subscribe(Socket socket) throws IOException {
+		OutputStream output = socket.getOutputStream();
+		output.write(("GET /api/dashboard/stream HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n")
+				.getBytes(StandardCharsets.US_ASCII));
+		output.flush();
+	}
+
+	private static AtomicInteger countDeltas(InputStream input) {
+		AtomicInteger deltas = new AtomicInteger();
+		Thread reader = new Thread(() -> {
+			try (BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = lines.readLine()) != null) {
+					if (line.equals("event:delta")) {
+						deltas.incrementAndGet();
+					}
+				}
+			} catch (IOException ex) {
+				// socket fechado ao fim do teste
+			}
+		}, "dashboard-healthy-client");
+		reader.setDaemon(true);
+		reader.start();
+		return deltas;
+	}
+
+	// drena o que ficou nos buffers: o servidor só fechou a conexão se a leitura chegar ao fim ou a um reset
+	private static boolean closedByServer(Socket socket) throws IOException {
+		socket.setSoTimeout(10_000);
+		byte[] buffer = new byte[64 * 1024];
+		try {
+			InputStream input = socket.getInputStream();
+			while (input.read(buffer) >= 0) {
+				// descarta
+			}
+			return true;
+		} catch (SocketException ex) {
+			return true;
+		} catch (SocketTimeoutException ex) {
+			return false;
+		}
+	}
+
+	private static void await(BooleanSupplier condition, int seconds) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package techfix.techfix.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.dashboard.DashboardController.DashboardSummary;
+import techfix.techfix.dashboard.DashboardStream.DashboardDelta;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+import techfix.techfix.ticket.TicketService;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+class DashboardStreamTest {
+
+	private final TicketService ticketService = new TicketService(
+			new CustomerService(EntityRepository.none(), SequenceStore.local()), EntityRepository.none(),
+			SequenceStore.local());
+	private final Supplier<DashboardSummary> snapshot = () -> new DashboardSummary(
+			DashboardController.pendingCount(ticketService), 6, "",
+			ticketService.countCreatedOn(LocalDate.now(TicketService.ZONE)),
+			DashboardController.pendingTickets(ticketService));
+	private DashboardStream stream;
+
+	@AfterEach
+	void shutdown() {
+		stream.shutdown();
+	}
+
+	@Test
+	void ticketOpenedAndClosedBetweenFlushesIsRemovedForALateSubscriber() throws InterruptedException {
+		stream = new DashboardStream(ticketService, Duration.ofHours(1), Duration.ofHours(1), 32,
+				Duration.ofSeconds(10), 2);
+		RecordingEmitter first = new RecordingEmitter();
+		stream.subscribe(snapshot, first);
+
+		Ticket ticket = ticketService.create("CLI-001", "Geladeira", "Frost Free", "Não gela o congelador");
+		RecordingEmitter late = new RecordingEmitter();
+		stream.subscribe(snapshot, late);
+		ticketService.changeStatus(ticket.id(), TicketStatus.TRIAGEM, TicketStatus.FINALIZADO);
+		RecordingEmitter trigger = new RecordingEmitter();
+		stream.subscribe(snapshot, trigger);
+
+		await(() -> late.deltas().size() == 1 && first.deltas().size() == 2);
+		assertEquals(List.of(ticket.id()), ids(late.snapshots().get(0)));
+		assertEquals(List.of(ticket.id()), late.deltas().get(0).removed());
+		assertEquals(List.of(ticket.id()), first.deltas().get(0).added().stream().map(DashboardController.Ticket::id)
+				.toList());
+		assertEquals(List.of(ticket.id()), first.deltas().get(1).removed());
+		assertEquals(List.of(), ids(trigger.snapshots().get(0)));
+	}
+
+	@Test
+	void stalledClientLeavesTheBroadcastAndIsClosedOnceTheServerWriteTimesOut() throws InterruptedException {
+		stream = new DashboardStream(ticketService, Duration.ofMillis(20), Duration.ofHours(1), 32,
+				Duration.ofMillis(200), 2);
+		StalledEmitter stalled = new StalledEmitter(Duration.ofMillis(800));
+		RecordingEmitter healthy = new RecordingEmitter();
+		stream.subscribe(snapshot, stalled);
+		stream.subscribe(snapshot, healthy);
+
+		Ticket ticket = ticketService.create("CLI-002", "Televisão", "Smart 50", "Sem imagem");
+		await(() -> healthy.deltas().size() == 1);
+		assertEquals(ticket.id(), healthy.deltas().get(0).added().get(0).id());
+
+		// passado o send-timeout sai da difusão, mas ninguém mexe no emitter enquanto a escrita está presa
+		await(() -> stream.subscribers() == 1);
+		assertEquals(1, stream.subscribers());
+		assertEquals(1L, stalled.completed.getCount());
+
+		assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+		assertTrue(stalled.error instanceof IOException);
+		assertEquals(1, stalled.attempts.get());
+		assertTrue(senderThreads() <= 2);
+
+		Ticket next = ticketService.create("CLI-003", "Notebook", "Inspiron", "Não liga");
+		await(() -> healthy.deltas().size() == 2);
+		assertEquals(next.id(), healthy.deltas().get(1).added().get(0).id());
+		assertEquals(1, stalled.attempts.get());
+	}
+
+	private static long senderThreads() {
+		return Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.getName().startsWith("dashboard-sse-")).count();
+	}
+
+	private static List<String> ids(DashboardSummary summary) {
+		return summary.tickets().stream().map(DashboardController.Ticket::id).toList();
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	private static class RecordingEmitter extends SseEmitter {
+
+		private final List<Object> sent = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void send(SseEventBuilder event) throws IOException {
+			for (DataWithMediaType item : event.build()) {
+				sent.add(item.getData());
+			}
+		}
+
+		List<DashboardSummary> snapshots() {
+			return sent.stream().filter(DashboardSummary.class::isInstance).map(DashboardSummary.class::cast).toList();
+		}
+
+		List<DashboardDelta> deltas() {
+			return sent.stream().filter(DashboardDelta.class::isInstance).map(DashboardDelta.class::cast).toList();
+		}
+	}
+
+	// simula o socket de um cliente que parou de ler: a escrita fica presa até o timeout de escrita do servidor
+	// e então falha, como no Tomcat; interrupções são ignoradas
+	private static class StalledEmitter extends SseEmitter {
+
+		private final long writeTimeoutNanos;
+		private final AtomicInteger attempts = new AtomicInteger();
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private volatile Throwable error;
+
+		StalledEmitter(Duration writeTimeout) {
+			this.writeTimeoutNanos = writeTimeout.toNanos();
+		}
+
+		@Override
+		public void send(SseEventBuilder event) throws IOException {
+			attempts.incrementAndGet();
+			long deadline = System.nanoTime() + writeTimeoutNanos;
+			while (System.nanoTime() < deadline) {
+				LockSupport.parkNanos(deadline - System.nanoTime());
+			}
+			throw new SocketTimeoutException("Timeout de escrita");
+		}
+
+		@Override
+		public void complete() {
+			completed.countDown();
+		}
+
+		@Override
+		public void completeWithError(Throwable ex) {
+			error = ex;
+			completed.countDown();
+		}
+	}
+}
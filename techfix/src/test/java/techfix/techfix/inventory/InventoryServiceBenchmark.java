@@ -0,0 +1,66 @@
+package techfix.techfix.inventory;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import techfix.techfix.inventory.InventoryService.InventoryItem;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, batchSize = InventoryServiceBenchmark.CREATES_PER_OP)
+@Measurement(iterations = 5, batchSize = InventoryServiceBenchmark.CREATES_PER_OP)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InventoryServiceBenchmark {
+
+	static final int CREATES_PER_OP = 1000;
+
+	private static final String[] TYPES = { "Compressor", "Termostato", "Resistência", "Painel LCD", "Bomba de Água",
+			"Placa Principal", "Motor", "Sensor" };
+	private static final BigDecimal PRICE = new BigDecimal("149.90");
+
+	@Param({ "1000", "100000", "1000000" })
+	public int items;
+
+	private InventoryService inventoryService;
+	private int next;
+	private int restocked;
+
+	@Setup(Level.Iteration)
+	public void populate() {
+		inventoryService = new InventoryService(EntityRepository.none(), SequenceStore.local());
+		for (next = 0; next < items; next++) {
+			create(next);
+		}
+		restocked = 0;
+	}
+
+	@Benchmark
+	public InventoryItem createNew() {
+		return create(next++);
+	}
+
+	@Benchmark
+	public InventoryItem restock() {
+		return create(restocked++ * 7919 % items);
+	}
+
+	private InventoryItem create(int n) {
+		return inventoryService.create(TYPES[n % TYPES.length], "Marca " + n, 1 + n % 5, PRICE);
+	}
+}
@@ -0,0 +1,106 @@
+package techfix.techfix.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import techfix.techfix.inventory.InventoryController.CreateInventoryItemRequest;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+
+class InventoryServiceTest {
+
+	private final InventoryService inventoryService = new InventoryService(EntityRepository.none(), SequenceStore.local());
+
+	@Test
+	void restockMatchesTypeAndBrandIgnoringCase() {
+		var restocked = inventoryService.create("termostato", " CONSUL ", 3, null);
+
+		assertEquals("PEC-002", restocked.id());
+		assertEquals(15, restocked.quantity());
+		assertEquals(new BigDecimal("140.00"), restocked.price());
+	}
+
+	@Test
+	void newItemsGetSequentialIdsPerPrefix() {
+		assertEquals("PEC-CAP-WEG-001", inventoryService.create("Capacitor", "WEG", 1, BigDecimal.ONE).id());
+		assertEquals("PEC-CAP-WEG-002", inventoryService.create("Capacitor", "Wegmann", 1, BigDecimal.ONE).id());
+		assertEquals("PEC-CAP-WEG-001", inventoryService.create("capacitor", "weg", 1, null).id());
+	}
+
+	@Test
+	void concurrentRestocksDoNotLoseQuantity() throws Exception {
+		int threads = 16;
+		int restocksPerThread = 500;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < restocksPerThread; i++) {
+						inventoryService.create("Termostato", "Consul", 1, null);
+						inventoryService.create("Sensor", "Bosch", 1, BigDecimal.TEN);
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		var items = inventoryService.findAll();
+		assertEquals(12 + threads * restocksPerThread,
+				items.stream().filter(item -> item.id().equals("PEC-002")).findFirst().orElseThrow().quantity());
+		assertEquals(1, items.stream().filter(item -> item.type().equals("Sensor")).count());
+		assertEquals(threads * restocksPerThread,
+				items.stream().filter(item -> item.type().equals("Sensor")).findFirst().orElseThrow().quantity());
+	}
+
+	@Test
+	void bulkCreateWritesOneBatchWithTheLatestValuePerItem() {
+		List<List<InventoryService.InventoryItem>> batches = new ArrayList<>();
+		var service = new InventoryService(new EntityRepository<>() {
+			@Override
+			public List<InventoryService.InventoryItem> loadAll() {
+				return List.of();
+			}
+
+			@Override
+			public void save(InventoryService.InventoryItem item) {
+				batches.add(List.of(item));
+			}
+
+			@Override
+			public void saveAll(Collection<InventoryService.InventoryItem> items) {
+				batches.add(List.copyOf(items));
+			}
+		}, SequenceStore.local());
+		batches.clear();
+
+		service.createAll(List.of(
+				new CreateInventoryItemRequest("Sensor", "Bosch", 2, BigDecimal.TEN),
+				new CreateInventoryItemRequest("Termostato", "Consul", 3, null),
+				new CreateInventoryItemRequest("sensor", "bosch", 1, null)), (line, error) -> {
+				});
+
+		assertEquals(1, batches.size());
+		assertEquals(List.of("PEC-SEN-BOS-001", "PEC-002"), batches.get(0).stream().map(InventoryService.InventoryItem::id).toList());
+		assertEquals(List.of(3, 15), batches.get(0).stream().map(InventoryService.InventoryItem::quantity).toList());
+	}
+}
@@ -0,0 +1,61 @@
+package techfix.techfix.inventory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import techfix.techfix.inventory.InventoryService.InventoryItem;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class StockReservationBenchmark {
+
+	private static final String HOT_ITEM = "PEC-002";
+
+	private InventoryService inventoryService;
+	private ConcurrentMap<String, InventoryItem> records;
+
+	@Setup
+	public void populate() {
+		inventoryService = new InventoryService(EntityRepository.none(), SequenceStore.local());
+		inventoryService.create("Termostato", "Consul", 1_000_000, null);
+		records = new ConcurrentHashMap<>();
+		inventoryService.findAll().forEach(item -> records.put(item.id(), item));
+	}
+
+	@Benchmark
+	public void counterReserveRelease() {
+		inventoryService.reserve(HOT_ITEM, 1);
+		inventoryService.release(HOT_ITEM, 1);
+	}
+
+	@Benchmark
+	public void recordReplaceReserveRelease() {
+		replace(-1);
+		replace(1);
+	}
+
+	private void replace(int delta) {
+		records.compute(HOT_ITEM, (id, item) -> new InventoryItem(item.id(), item.type(), item.brand(),
+				item.quantity() + delta, item.price()));
+	}
+}
@@ -0,0 +1,130 @@
+package techfix.techfix.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import techfix.techfix.common.ConflictException;
+import techfix.techfix.inventory.StockReservationService.Reservation;
+import techfix.techfix.inventory.StockReservationService.ReservationLine;
+import techfix.techfix.inventory.StockReservationService.ReservationStatus;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+
+class StockReservationServiceTest {
+
+	private final InventoryService inventoryService = new InventoryService(EntityRepository.none(), SequenceStore.local());
+	private final StockReservationService reservationService = new StockReservationService(inventoryService,
+			Duration.ofMinutes(15));
+
+	@AfterEach
+	void shutdown() {
+		reservationService.shutdown();
+	}
+
+	@Test
+	void concurrentReservationsNeverOversell() throws Exception {
+		int threads = 32;
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger granted = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < 10; i++) {
+						try {
+							reservationService.reserve("TCK-1041", List.of(new ReservationLine("PEC-002", 1)));
+							granted.incrementAndGet();
+						} catch (ConflictException ex) {
+							// esgotado
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(12, granted.get());
+		assertEquals(0, inventoryService.available("PEC-002"));
+	}
+
+	@Test
+	void failedReservationRollsBackEarlierLines() {
+		assertThrows(ConflictException.class, () -> reservationService.reserve("TCK-1041",
+				List.of(new ReservationLine("PEC-001", 2), new ReservationLine("PEC-004", 4))));
+
+		assertEquals(5, inventoryService.available("PEC-001"));
+		assertEquals(3, inventoryService.available("PEC-004"));
+	}
+
+	@Test
+	void commitDecrementsOnHandAndReleaseReturnsStock() {
+		var committed = reservationService.reserve("TCK-1041", List.of(new ReservationLine("PEC-003", 3)));
+		var released = reservationService.reserve("TCK-1041", List.of(new ReservationLine("PEC-003", 2)));
+		assertEquals(3, inventoryService.available("PEC-003"));
+
+		reservationService.commit("TCK-1041", committed.id());
+		reservationService.release("TCK-1041", released.id());
+
+		assertEquals(5, inventoryService.available("PEC-003"));
+		assertEquals(5, inventoryService.findAll().stream().filter(item -> item.id().equals("PEC-003")).findFirst()
+				.orElseThrow().quantity());
+		assertThrows(ConflictException.class, () -> reservationService.release("TCK-1041", committed.id()));
+		assertThrows(IllegalArgumentException.class, () -> reservationService.commit("TCK-1042", released.id()));
+	}
+
+	@Test
+	void expiredReservationsReturnStock() {
+		var reservation = reservationService.reserve("TCK-1041", List.of(new ReservationLine("PEC-005", 4)));
+
+		reservationService.expireBefore(Instant.now().plus(Duration.ofMinutes(16)));
+
+		assertEquals(ReservationStatus.EXPIRED, reservation.status());
+		assertEquals(6, inventoryService.available("PEC-005"));
+		assertThrows(ConflictException.class, () -> reservationService.commit("TCK-1041", reservation.id()));
+	}
+
+	@Test
+	void findByTicketListsOnlyThatTicketAndDropsForgottenReservations() {
+		var first = reservationService.reserve("TCK-1041", List.of(new ReservationLine("PEC-001", 1)));
+		var other = reservationService.reserve("TCK-1042", List.of(new ReservationLine("PEC-001", 1)));
+		var second = reservationService.reserve("TCK-1041", List.of(new ReservationLine("PEC-003", 1)));
+		reservationService.commit("TCK-1041", second.id());
+
+		assertEquals(List.of(first.id(), second.id()), ids(reservationService.findByTicket("TCK-1041")));
+		assertEquals(List.of(other.id()), ids(reservationService.findByTicket("TCK-1042")));
+		assertEquals(List.of(), reservationService.findByTicket("TCK-9999"));
+
+		// a primeira passada expira as reservas presas; uma ttl depois, todas são esquecidas
+		reservationService.expireBefore(Instant.now().plus(Duration.ofMinutes(16)));
+		assertEquals(2, reservationService.findByTicket("TCK-1041").size());
+		reservationService.expireBefore(Instant.now().plus(Duration.ofMinutes(31)));
+		assertEquals(List.of(), reservationService.findByTicket("TCK-1041"));
+		assertEquals(List.of(), reservationService.findByTicket("TCK-1042"));
+	}
+
+	private static List<String> ids(List<Reservation> reservations) {
+		return reservations.stream().map(Reservation::id).toList();
+	}
+}
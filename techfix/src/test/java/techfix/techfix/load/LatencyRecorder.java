@@ -0,0 +1,68 @@
+package techfix.techfix.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+final class LatencyRecorder {
+
+	private long[] samples = new long[1 << 14];
+	private int size;
+	private long errors;
+	private long dropped;
+
+	synchronized void record(long nanos, boolean ok) {
+		if (size == samples.length) {
+			samples = Arrays.copyOf(samples, size * 2);
+		}
+		samples[size++] = nanos;
+		if (!ok) {
+			errors++;
+		}
+	}
+
+	// chegada descartada no modelo aberto: não gerou requisição, então não entra nas latências nem na vazão
+	synchronized void drop() {
+		dropped++;
+	}
+
+	synchronized void reset() {
+		size = 0;
+		errors = 0;
+		dropped = 0;
+	}
+
+	synchronized long count() {
+		return size;
+	}
+
+	static Summary summarize(List<LatencyRecorder> recorders, Duration elapsed) {
+		long[] all = new long[0];
+		long errors = 0;
+		long dropped = 0;
+		for (LatencyRecorder recorder : recorders) {
+			synchronized (recorder) {
+				int offset = all.length;
+				all = Arrays.copyOf(all, offset + recorder.size);
+				System.arraycopy(recorder.samples, 0, all, offset, recorder.size);
+				errors += recorder.errors;
+				dropped += recorder.dropped;
+			}
+		}
+		Arrays.sort(all);
+		double seconds = elapsed.toNanos() / 1e9;
+		return new Summary(all.length, errors, dropped, (all.length - errors) / seconds, percentile(all, 0.50),
+				percentile(all, 0.99), percentile(all, 0.999), all.length > 0 ? all[all.length - 1] : 0);
+	}
+
+	private static long percentile(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(quantile * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	record Summary(long count, long errors, long dropped, double throughput, long p50, long p99, long p999, long max) {
+	}
+}
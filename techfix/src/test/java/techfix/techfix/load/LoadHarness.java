@@ -0,0 +1,296 @@
+package techfix.techfix.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import techfix.techfix.TechfixApplication;
+import techfix.techfix.load.LatencyRecorder.Summary;
+
+public final class LoadHarness {
+
+	private static final String[] SEARCH_QUERIES = { "lu", "silva", "jo%C3%A3o", "123.456", "CLI-00", "santos" };
+
+	private final Settings settings;
+	private final URI base;
+	private final HttpClient client;
+	private final AtomicLong sequence = new AtomicLong();
+	private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+
+	private LoadHarness(Settings settings, URI base) {
+		this.settings = settings;
+		this.base = base;
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+				.build();
+		for (Operation operation : Operation.values()) {
+			recorders.put(operation, new LatencyRecorder());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		Settings settings = Settings.fromSystemProperties();
+		ConfigurableApplicationContext context = settings.target() == null ? boot(settings) : null;
+		try {
+			URI base = URI.create(context != null
+					? "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+					: settings.target());
+			LoadHarness harness = new LoadHarness(settings, base);
+			System.out.printf("Alvo %s, modelo %s, concorrência %d, threads %s%n", base, settings.model(),
+					settings.concurrency(), settings.threads());
+
+			harness.run(settings.warmup());
+			harness.recorders.values().forEach(LatencyRecorder::reset);
+			Duration elapsed = harness.run(settings.duration());
+
+			Map<String, Summary> summaries = harness.summarize(elapsed);
+			print(summaries);
+			write(settings, summaries);
+		} finally {
+			if (context != null) {
+				context.close();
+			}
+		}
+		System.exit(0);
+	}
+
+	private static ConfigurableApplicationContext boot(Settings settings) {
+		if (settings.threads().equals("virtual") && Runtime.version().feature() < 21) {
+			System.err.println("Threads virtuais exigem Java 21+; executando com threads de plataforma");
+		}
+		return SpringApplication.run(TechfixApplication.class, "--server.port=0",
+				"--techfix.persistence.mode=memory", "--spring.devtools.restart.enabled=false",
+				"--spring.main.banner-mode=off", "--logging.level.root=WARN",
+				"--spring.threads.virtual.enabled=" + settings.threads().equals("virtual"));
+	}
+
+	private Duration run(Duration duration) throws InterruptedException {
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+		if (settings.model() == Model.OPEN) {
+			runOpen(start, end);
+		} else {
+			runClosed(end);
+		}
+		return Duration.ofNanos(System.nanoTime() - start);
+	}
+
+	private void runClosed(long end) throws InterruptedException {
+		ExecutorService users = Executors.newFixedThreadPool(settings.concurrency());
+		for (int i = 0; i < settings.concurrency(); i++) {
+			SplittableRandom random = new SplittableRandom(settings.seed() + i);
+			users.execute(() -> {
+				while (System.nanoTime() < end) {
+					Operation operation = Operation.pick(random);
+					HttpRequest request = operation.request(base, random, sequence.incrementAndGet());
+					long started = System.nanoTime();
+					boolean ok;
+					try {
+						ok = isSuccess(client.send(request, HttpResponse.BodyHandlers.discarding()));
+					} catch (IOException ex) {
+						ok = false;
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					recorders.get(operation).record(System.nanoTime() - started, ok);
+				}
+			});
+		}
+		users.shutdown();
+		users.awaitTermination(1, TimeUnit.HOURS);
+	}
+
+	private void runOpen(long start, long end) throws InterruptedException {
+		long interval = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+		Semaphore inFlight = new Semaphore(settings.concurrency());
+		SplittableRandom random = new SplittableRandom(settings.seed());
+		long dropped = 0;
+		for (long i = 0;; i++) {
+			long intended = start + i * interval;
+			if (intended >= end) {
+				break;
+			}
+			long wait;
+			while ((wait = intended - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			Operation operation = Operation.pick(random);
+			LatencyRecorder recorder = recorders.get(operation);
+			if (!inFlight.tryAcquire()) {
+				dropped++;
+				recorder.drop();
+				continue;
+			}
+			client.sendAsync(operation.request(base, random, sequence.incrementAndGet()),
+					HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+						recorder.record(System.nanoTime() - intended, error == null && isSuccess(response));
+						inFlight.release();
+					});
+		}
+		inFlight.acquire(settings.concurrency());
+		inFlight.release(settings.concurrency());
+		if (dropped > 0) {
+			System.out.printf("%d requisições descartadas por excederem %d em voo%n", dropped, settings.concurrency());
+		}
+	}
+
+	private Map<String, Summary> summarize(Duration elapsed) {
+		Map<String, Summary> summaries = new LinkedHashMap<>();
+		for (Operation operation : Operation.values()) {
+			summaries.put(operation.label, LatencyRecorder.summarize(List.of(recorders.get(operation)), elapsed));
+		}
+		summaries.put("total", LatencyRecorder.summarize(new ArrayList<>(recorders.values()), elapsed));
+		return summaries;
+	}
+
+	private static boolean isSuccess(HttpResponse<?> response) {
+		return response.statusCode() >= 200 && response.statusCode() < 300;
+	}
+
+	private static void print(Map<String, Summary> summaries) {
+		System.out.printf("%-10s %9s %7s %9s %10s %9s %9s %9s %9s%n", "operação", "total", "erros", "descartes",
+				"ok/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+		summaries.forEach((name, summary) -> System.out.printf(Locale.ROOT,
+				"%-10s %9d %7d %9d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name, summary.count(), summary.errors(),
+				summary.dropped(), summary.throughput(), millis(summary.p50()), millis(summary.p99()),
+				millis(summary.p999()), millis(summary.max())));
+	}
+
+	private static void write(Settings settings, Map<String, Summary> summaries) throws IOException {
+		StringBuilder json = new StringBuilder(512);
+		json.append("{\"model\":\"").append(settings.model().name().toLowerCase(Locale.ROOT))
+				.append("\",\"threads\":\"").append(settings.threads())
+				.append("\",\"concurrency\":").append(settings.concurrency())
+				.append(",\"rate\":").append(settings.rate())
+				.append(",\"durationSeconds\":").append(settings.duration().toSeconds())
+				.append(",\"operations\":{");
+		String separator = "";
+		for (Map.Entry<String, Summary> entry : summaries.entrySet()) {
+			Summary summary = entry.getValue();
+			json.append(separator).append('"').append(entry.getKey()).append("\":")
+					.append(String.format(Locale.ROOT,
+							"{\"count\":%d,\"errors\":%d,\"dropped\":%d,\"throughput\":%.2f,\"p50Ms\":%.3f,"
+									+ "\"p99Ms\":%.3f,\"p999Ms\":%.3f,\"maxMs\":%.3f}",
+							summary.count(), summary.errors(), summary.dropped(), summary.throughput(),
+							millis(summary.p50()), millis(summary.p99()), millis(summary.p999()),
+							millis(summary.max())));
+			separator = ",";
+		}
+		json.append("}}\n");
+		Files.createDirectories(settings.result().toAbsolutePath().getParent());
+		Files.writeString(settings.result(), json);
+		System.out.println("Resultado gravado em " + settings.result());
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+	enum Model {
+		OPEN, CLOSED
+	}
+
+	enum Operation {
+		DASHBOARD("dashboard", 50) {
+			@Override
+			HttpRequest request(URI base, SplittableRandom random, long sequence) {
+				return HttpRequest.newBuilder(base.resolve("/api/dashboard")).GET().build();
+			}
+		},
+		SEARCH("search", 30) {
+			@Override
+			HttpRequest request(URI base, SplittableRandom random, long sequence) {
+				String query = SEARCH_QUERIES[random.nextInt(SEARCH_QUERIES.length)];
+				return HttpRequest.newBuilder(base.resolve("/api/customers/search?query=" + query)).GET().build();
+			}
+		},
+		TICKET("ticket", 15) {
+			@Override
+			HttpRequest request(URI base, SplittableRandom random, long sequence) {
+				return json(base.resolve("/api/tickets"), """
+						{"customerId":"CLI-00%d","deviceType":"Geladeira","deviceModel":"Modelo %d",\
+						"description":"Não gela o suficiente"}""".formatted(random.nextInt(4) + 1, sequence));
+			}
+		},
+		LAUDO("laudo", 5) {
+			@Override
+			HttpRequest request(URI base, SplittableRandom random, long sequence) {
+				return json(base.resolve("/api/tickets/TCK-104%d/laudo".formatted(random.nextInt(5, 9))), """
+						{"equipmentCondition":"Gabinete íntegro","problemDescription":"Não gela",\
+						"diagnostic":"Termostato travado","actionsTaken":"Substituição do termostato",\
+						"recommendations":"Limpar a serpentina a cada 6 meses (%d)","technicianName":"Rafael Lima"}"""
+						.formatted(sequence));
+			}
+		};
+
+		private static final int TOTAL_WEIGHT = 100;
+
+		private final String label;
+		private final int weight;
+
+		Operation(String label, int weight) {
+			this.label = label;
+			this.weight = weight;
+		}
+
+		abstract HttpRequest request(URI base, SplittableRandom random, long sequence);
+
+		static Operation pick(SplittableRandom random) {
+			int roll = random.nextInt(TOTAL_WEIGHT);
+			for (Operation operation : values()) {
+				roll -= operation.weight;
+				if (roll < 0) {
+					return operation;
+				}
+			}
+			return DASHBOARD;
+		}
+
+		private static HttpRequest json(URI uri, String body) {
+			return HttpRequest.newBuilder(uri).header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(body)).build();
+		}
+	}
+
+	record Settings(Model model, int concurrency, int rate, Duration warmup, Duration duration, String threads,
+			long seed, String target, Path result) {
+
+		static Settings fromSystemProperties() {
+			String target = System.getProperty("load.target", "");
+			return new Settings(
+					Model.valueOf(System.getProperty("load.model", "closed").toUpperCase(Locale.ROOT)),
+					Integer.getInteger("load.concurrency", 32),
+					Integer.getInteger("load.rate", 500),
+					Duration.ofSeconds(Long.getLong("load.warmup", 15)),
+					Duration.ofSeconds(Long.getLong("load.duration", 60)),
+					System.getProperty("load.threads", "platform"),
+					Long.getLong("load.seed", 42),
+					target.isBlank() ? null : target,
+					Path.of(System.getProperty("load.result", "target/load-result.json")));
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package techfix.techfix.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import techfix.techfix.common.ConflictException;
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.inventory.InventoryService;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+import techfix.techfix.report.PdfCache;
+import techfix.techfix.report.ReportJobService;
+import techfix.techfix.ticket.TicketService;
+import techfix.techfix.ticket.TicketService.Ticket;
+
+class TechfixMetricsTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final TechfixMetrics metrics = new TechfixMetrics(registry);
+
+	@Test
+	void pdfMetersAreTaggedByDocumentKind() {
+		metrics.recordPdf("laudo", TimeUnit.MILLISECONDS.toNanos(40), 2048);
+		metrics.recordPdf("laudo", TimeUnit.MILLISECONDS.toNanos(60), 1024);
+		metrics.recordPdf("orcamento", TimeUnit.MILLISECONDS.toNanos(10), 512);
+
+		assertEquals(2L, registry.get("techfix.pdf.render").tag("kind", "laudo").timer().count());
+		assertEquals(100.0, registry.get("techfix.pdf.render").tag("kind", "laudo").timer().totalTime(TimeUnit.MILLISECONDS));
+		assertEquals(3072.0, registry.get("techfix.pdf.size").tag("kind", "laudo").summary().totalAmount());
+		assertEquals(1L, registry.get("techfix.pdf.render").tag("kind", "orcamento").timer().count());
+		assertEquals(512.0, registry.get("techfix.pdf.size").tag("kind", "orcamento").summary().totalAmount());
+		assertNull(registry.find("techfix.pdf.render").tag("kind", "estoque").timer());
+	}
+
+	@Test
+	void searchRecordsLatencyAndResultCount() {
+		metrics.recordSearch(TimeUnit.MICROSECONDS.toNanos(300), 4);
+		metrics.recordSearch(TimeUnit.MICROSECONDS.toNanos(200), 0);
+
+		assertEquals(2L, registry.get("techfix.customers.search").timer().count());
+		assertEquals(500.0, registry.get("techfix.customers.search").timer().totalTime(TimeUnit.MICROSECONDS));
+		assertEquals(2L, registry.get("techfix.customers.search.results").summary().count());
+		assertEquals(4.0, registry.get("techfix.customers.search.results").summary().totalAmount());
+	}
+
+	@Test
+	void errorsAreCountedPerExceptionType() {
+		metrics.countError(new IllegalArgumentException("Cliente não encontrado"));
+		metrics.countError(new IllegalArgumentException("Peça não encontrada"));
+		metrics.countError(new ConflictException("Estoque insuficiente"));
+
+		assertEquals(2.0, registry.get("techfix.errors").tag("exception", "IllegalArgumentException").counter().count());
+		assertEquals(1.0, registry.get("techfix.errors").tag("exception", "ConflictException").counter().count());
+	}
+
+	@Test
+	void storeGaugesReportCurrentSizes() {
+		CustomerService customerService = new CustomerService(EntityRepository.none(), SequenceStore.local());
+		InventoryService inventoryService = new InventoryService(EntityRepository.none(), SequenceStore.local());
+		TicketService ticketService = new TicketService(customerService, EntityRepository.none(), SequenceStore.local());
+		ReportJobService reportJobService = new ReportJobService(1, 1, Duration.ofMinutes(10), Duration.ofSeconds(5),
+				metrics);
+		PdfCache pdfCache = new PdfCache(1024);
+		new StoreMetrics(customerService, inventoryService, ticketService, reportJobService, pdfCache)
+				.bindTo(registry);
+
+		assertEquals(4.0, registry.get("techfix.store.size").tag("store", "customers").gauge().value());
+		assertEquals(5.0, registry.get("techfix.store.size").tag("store", "inventory").gauge().value());
+		assertEquals(0.0, registry.get("techfix.store.size").tag("store", "tickets").gauge().value());
+		assertEquals(0.0, registry.get("techfix.reports.queue.depth").gauge().value());
+		assertEquals(0.0, registry.get("techfix.reports.cache.size").gauge().value());
+
+		customerService.create("Ana Souza", "567.890.123-44", "(11) 94321-0987", "Rua Vergueiro, 10");
+		Ticket ticket = ticketService.create("CLI-001", "Geladeira", "Frost Free", "Não gela o congelador");
+		pdfCache.render(PdfCache.key("laudo", ticket, customerService.getRequired("CLI-001"), "pedido"),
+				output -> new PrintStream(output).print("x".repeat(100)), new ByteArrayOutputStream());
+
+		assertEquals(5.0, registry.get("techfix.store.size").tag("store", "customers").gauge().value());
+		assertEquals(1.0, registry.get("techfix.store.size").tag("store", "tickets").gauge().value());
+		assertEquals(100.0, registry.get("techfix.reports.cache.size").gauge().value());
+	}
+}
@@ -0,0 +1,109 @@
+package techfix.techfix.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IdAllocatorTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void nodesSharingAFileSequenceNeverHandOutTheSameId() throws Exception {
+		List<IdAllocator> nodes = List.of(
+				new IdAllocator(new FileSequenceStore(directory, 16), "tickets"),
+				new IdAllocator(new FileSequenceStore(directory, 16), "tickets"));
+		nodes.forEach(node -> node.advancePast(1048));
+
+		int threads = 8;
+		int idsPerThread = 500;
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				IdAllocator node = nodes.get(t % nodes.size());
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < idsPerThread; i++) {
+						assertTrue(ids.add(node.next()));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(threads * idsPerThread, ids.size());
+		assertTrue(ids.stream().allMatch(id -> id > 1048));
+	}
+
+	@Test
+	void storesOnTheSameDirectoryLeaseDisjointBlocksConcurrently() throws Exception {
+		List<FileSequenceStore> stores = List.of(new FileSequenceStore(directory, 10),
+				new FileSequenceStore(directory, 10));
+
+		int threads = 8;
+		int leasesPerThread = 50;
+		Set<Long> starts = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				FileSequenceStore store = stores.get(t % stores.size());
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < leasesPerThread; i++) {
+						assertTrue(starts.add(store.lease("tickets", 0)));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(threads * leasesPerThread, starts.size());
+		assertTrue(starts.stream().allMatch(start -> start % 10 == 0));
+	}
+
+	@Test
+	void restartedNodeLeasesAfterTheDurableHighWaterMark() throws IOException {
+		IdAllocator first = new IdAllocator(new FileSequenceStore(directory, 100), "customers");
+		first.advancePast(4);
+		assertEquals(5, first.next());
+		assertEquals(6, first.next());
+
+		IdAllocator restarted = new IdAllocator(new FileSequenceStore(directory, 100), "customers");
+		restarted.advancePast(6);
+
+		assertEquals(105, restarted.next());
+	}
+
+	@Test
+	void idsRegisteredAfterLeasingAreSkipped() {
+		IdAllocator allocator = new IdAllocator(SequenceStore.local(10), "inventory.CAP-WEG");
+		assertEquals(1, allocator.next());
+
+		allocator.advancePast(4);
+
+		assertEquals(5, allocator.next());
+	}
+}
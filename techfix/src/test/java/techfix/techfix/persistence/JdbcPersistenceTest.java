@@ -0,0 +1,150 @@
+package techfix.techfix.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.inventory.InventoryService;
+import techfix.techfix.ticket.TicketService;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+class JdbcPersistenceTest {
+
+	private JdbcTemplate jdbc;
+	private WriteBehindWriter writer;
+	private JdbcRepositories repositories;
+
+	@BeforeEach
+	void setUp() {
+		var dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:techfix-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+		JdbcRepositories.initializeSchema(dataSource);
+		jdbc = new JdbcTemplate(dataSource);
+		writer = new WriteBehindWriter(200, Duration.ofMillis(50));
+		repositories = new JdbcRepositories(jdbc, writer);
+	}
+
+	@AfterEach
+	void tearDown() {
+		writer.close();
+	}
+
+	@Test
+	void restartLoadsPersistedStateAndContinuesSequences() {
+		var customers = new CustomerService(repositories.customers(), SequenceStore.local());
+		var inventory = new InventoryService(repositories.inventory(), SequenceStore.local());
+		var tickets = new TicketService(customers, repositories.tickets(), SequenceStore.local());
+		tickets.seedData();
+
+		var customer = customers.create("Ana Souza", "111.222.333-44", "(11) 91111-2222", "Rua C, 3");
+		var ticket = tickets.create(customer.id(), "Geladeira", "Consul", "Porta não veda direito");
+		tickets.changeStatus(ticket.id(), null, TicketStatus.EM_ANDAMENTO);
+		inventory.create("Termostato", "Consul", 3, null);
+		inventory.create("Capacitor", "WEG", 2, null);
+		writer.flush();
+
+		var restartedCustomers = new CustomerService(repositories.customers(), SequenceStore.local());
+		var restartedInventory = new InventoryService(repositories.inventory(), SequenceStore.local());
+		var restartedTickets = new TicketService(restartedCustomers, repositories.tickets(), SequenceStore.local());
+		restartedTickets.seedData();
+
+		assertEquals(5, restartedCustomers.findAll().size());
+		assertEquals(5, restartedTickets.findAll().size());
+		assertEquals(TicketStatus.EM_ANDAMENTO, restartedTickets.getRequired(ticket.id()).status());
+		assertEquals("Ana Souza", restartedTickets.getRequired(ticket.id()).customerName());
+		assertEquals(ticket.entryTime(), restartedTickets.getRequired(ticket.id()).entryTime());
+		assertEquals(15, restartedInventory.create("Termostato", "Consul", 0, null).quantity());
+		assertEquals("CLI-006",
+				restartedCustomers.create("Bia Lima", "555.666.777-88", "(11) 92222-3333", "Rua D, 4").id());
+		assertEquals("TCK-1050", restartedTickets.create("CLI-001", "Fogão", "Atlas", "Forno não acende").id());
+		assertEquals("PEC-CAP-WEG-002", restartedInventory.create("Capacitor", "Wegmann", 1, null).id());
+	}
+
+	@Test
+	void nodesSharingTheSequenceTableCreateDistinctTickets() throws Exception {
+		var customers = new CustomerService(repositories.customers(), SequenceStore.local());
+		List<TicketService> nodes = List.of(
+				new TicketService(customers, repositories.tickets(), new JdbcSequenceStore(jdbc, 10)),
+				new TicketService(customers, repositories.tickets(), new JdbcSequenceStore(jdbc, 10)));
+		nodes.forEach(TicketService::seedData);
+
+		Set<String> ids = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				TicketService node = nodes.get(t % nodes.size());
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 250; i++) {
+						ids.add(node.create("CLI-001", "Geladeira", "Modelo " + i, "Não gela o suficiente").id());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(1_000, ids.size());
+		assertTrue(ids.stream().allMatch(id -> id.matches("TCK-\\d{4,}")));
+	}
+
+	@Test
+	void sustainedTicketCreationIsFlushedInBatches() throws Exception {
+		var customers = new CustomerService(repositories.customers(), SequenceStore.local());
+		var tickets = new TicketService(customers, repositories.tickets(), SequenceStore.local());
+		tickets.seedData();
+
+		int threads = 4;
+		int ticketsPerThread = 5_000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		long start = System.nanoTime();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				String customerId = "CLI-00" + (t + 1);
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < ticketsPerThread; i++) {
+						tickets.create(customerId, "Geladeira", "Modelo " + i, "Não gela o suficiente");
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		long createdNanos = System.nanoTime() - start;
+		writer.flush();
+		long persistedNanos = System.nanoTime() - start;
+
+		int expected = 4 + threads * ticketsPerThread;
+		assertEquals(Integer.valueOf(expected), jdbc.queryForObject("SELECT COUNT(*) FROM tickets", Integer.class));
+		assertEquals(0, writer.pendingCount());
+
+		double createdPerSecond = threads * ticketsPerThread / (createdNanos / 1e9);
+		double persistedPerSecond = threads * ticketsPerThread / (persistedNanos / 1e9);
+		assertTrue(createdPerSecond > 1_000, "criação sustentada: %.0f chamados/s, persistência: %.0f chamados/s"
+				.formatted(createdPerSecond, persistedPerSecond));
+	}
+}
@@ -0,0 +1,74 @@
+package techfix.techfix.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import techfix.techfix.customer.CustomerService.Customer;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class JournalRecoveryBenchmark {
+
+	@Param({ "1000000" })
+	public int records;
+
+	@Param({ "100000" })
+	public int distinctCustomers;
+
+	private Path snapshotted;
+	private Path fullHistory;
+
+	@Setup
+	public void writeHistory() throws IOException {
+		snapshotted = Files.createTempDirectory("journal-snapshotted");
+		fullHistory = Files.createTempDirectory("journal-full");
+		writeRecords(snapshotted, records / 5);
+		writeRecords(fullHistory, Long.MAX_VALUE);
+	}
+
+	@Benchmark
+	public int recoverFromSnapshotAndTail() throws IOException {
+		return recover(snapshotted);
+	}
+
+	@Benchmark
+	public int replayFullJournal() throws IOException {
+		return recover(fullHistory);
+	}
+
+	private int recover(Path directory) throws IOException {
+		try (JournalStore store = new JournalStore(directory, Long.MAX_VALUE, false)) {
+			return store.repository(JournalCodecs.CUSTOMER, JournalCodecs.CUSTOMERS).loadAll().size();
+		}
+	}
+
+	private void writeRecords(Path directory, long snapshotEvery) throws IOException {
+		try (JournalStore store = new JournalStore(directory, snapshotEvery, false)) {
+			var repository = store.repository(JournalCodecs.CUSTOMER, JournalCodecs.CUSTOMERS);
+			for (int i = 0; i < records; i++) {
+				int sequence = i % distinctCustomers;
+				repository.save(new Customer("CLI-%06d".formatted(sequence), "Cliente " + i,
+						"%03d.%03d.%03d-00".formatted(sequence / 1_000_000, sequence / 1_000 % 1_000, sequence % 1_000),
+						"(11) 90000-0000", "Rua das Flores, " + i));
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package techfix.techfix.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.inventory.InventoryService;
+import techfix.techfix.ticket.TicketService;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+class JournalStoreTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void restartReplaysJournalIntoServices() throws IOException {
+		try (JournalStore store = new JournalStore(directory, 1_000, true)) {
+			var customers = new CustomerService(customerRepository(store), SequenceStore.local());
+			var inventory = new InventoryService(
+					store.repository(JournalCodecs.INVENTORY_ITEM, JournalCodecs.INVENTORY), SequenceStore.local());
+			var tickets = new TicketService(customers, store.repository(JournalCodecs.TICKET, JournalCodecs.TICKETS),
+					SequenceStore.local());
+			tickets.seedData();
+
+			customers.create("Ana Souza", "111.222.333-44", "(11) 91111-2222", "Rua C, 3");
+			tickets.changeStatus("TCK-1047", null, TicketStatus.FINALIZADO);
+			inventory.create("Termostato", "Consul", 3, null);
+		}
+
+		try (JournalStore store = new JournalStore(directory, 1_000, true)) {
+			var customers = new CustomerService(customerRepository(store), SequenceStore.local());
+			var inventory = new InventoryService(
+					store.repository(JournalCodecs.INVENTORY_ITEM, JournalCodecs.INVENTORY), SequenceStore.local());
+			var tickets = new TicketService(customers, store.repository(JournalCodecs.TICKET, JournalCodecs.TICKETS),
+					SequenceStore.local());
+			tickets.seedData();
+
+			assertEquals(5, customers.findAll().size());
+			assertEquals(TicketStatus.FINALIZADO, tickets.getRequired("TCK-1047").status());
+			assertEquals(16, inventory.create("Termostato", "Consul", 1, null).quantity());
+			assertEquals("TCK-1049", tickets.create("CLI-005", "Fogão", "Atlas", "Forno não acende").id());
+		}
+	}
+
+	@Test
+	void snapshotsCompactHistoryAndKeepLatestValues() throws IOException {
+		try (JournalStore store = new JournalStore(directory, 100, false)) {
+			var repository = customerRepository(store);
+			for (int i = 0; i < 1_000; i++) {
+				repository.save(customer(i % 50, "Versão " + i));
+			}
+		}
+
+		try (Stream<Path> files = Files.list(directory)) {
+			List<String> names = files.map(path -> path.getFileName().toString()).toList();
+			assertEquals(1, names.stream().filter(name -> name.startsWith("snapshot-")).count());
+			assertTrue(names.stream().filter(name -> name.startsWith("journal-")).count() <= 2);
+		}
+
+		try (JournalStore store = new JournalStore(directory, 100, false)) {
+			List<Customer> recovered = customerRepository(store).loadAll();
+			assertEquals(50, recovered.size());
+			assertEquals("Versão 999", recovered.stream().filter(customer -> customer.id().equals("CLI-049"))
+					.findFirst().orElseThrow().name());
+		}
+	}
+
+	@Test
+	void boundedQueueHoldsWritersBackInsteadOfDroppingRecords() throws IOException {
+		try (JournalStore store = new JournalStore(directory, 1_000_000, false, 4)) {
+			var repository = customerRepository(store);
+			for (int i = 0; i < 2_000; i++) {
+				repository.save(customer(i, "Cliente " + i));
+			}
+			store.flush();
+		}
+
+		try (JournalStore store = new JournalStore(directory, 1_000_000, false, 4)) {
+			assertEquals(2_000, customerRepository(store).loadAll().size());
+		}
+	}
+
+	@Test
+	void tornTailIsIgnoredOnRecovery() throws IOException {
+		try (JournalStore store = new JournalStore(directory, 1_000, true)) {
+			var repository = customerRepository(store);
+			repository.save(customer(1, "Primeiro"));
+			repository.save(customer(2, "Segundo"));
+		}
+		Path journal;
+		try (Stream<Path> files = Files.list(directory)) {
+			journal = files.filter(path -> path.getFileName().toString().startsWith("journal-"))
+					.filter(path -> path.toFile().length() > 0).findFirst().orElseThrow();
+		}
+		Files.write(journal, new byte[] { 0, 0, 0, 40, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+		try (JournalStore store = new JournalStore(directory, 1_000, true)) {
+			assertEquals(2, customerRepository(store).loadAll().size());
+		}
+	}
+
+	private static EntityRepository<Customer> customerRepository(JournalStore store) {
+		return store.repository(JournalCodecs.CUSTOMER, JournalCodecs.CUSTOMERS);
+	}
+
+	private static Customer customer(int sequence, String name) {
+		return new Customer("CLI-%03d".formatted(sequence), name, "000.000.000-%02d".formatted(sequence),
+				"(11) 90000-0000", "Rua E, " + sequence);
+	}
+}
@@ -0,0 +1,84 @@
+package techfix.techfix.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WriteBehindWriterTest {
+
+	private final WriteBehindWriter writer = new WriteBehindWriter(100, Duration.ofHours(1), 3);
+
+	@AfterEach
+	void tearDown() {
+		writer.close();
+	}
+
+	@Test
+	void rejectedRowIsIsolatedAndDeadLetteredAfterMaxAttempts() {
+		Set<String> written = ConcurrentHashMap.newKeySet();
+		var inventory = writer.<String>channel("inventory", row -> row, batch -> {
+			if (batch.contains("PEC-RUIM")) {
+				throw new IllegalStateException("violação de restrição");
+			}
+			written.addAll(batch);
+		});
+		var tickets = writer.<String>channel("tickets", row -> row, written::addAll);
+
+		inventory.enqueue("PEC-001");
+		inventory.enqueue("PEC-RUIM");
+		inventory.enqueue("PEC-002");
+		tickets.enqueue("TCK-1");
+		writer.flush();
+
+		assertEquals(Set.of("PEC-001", "PEC-002", "TCK-1"), written);
+		assertEquals(1, writer.pendingCount());
+
+		inventory.enqueue("PEC-003");
+		writer.flush();
+		inventory.enqueue("PEC-004");
+		writer.flush();
+
+		assertTrue(written.containsAll(List.of("PEC-003", "PEC-004")));
+		assertEquals(0, writer.pendingCount());
+		assertEquals(1, writer.deadLetterCount());
+		assertEquals(5, writer.flushedCount());
+	}
+
+	@Test
+	void unavailableSinkKeepsRowsQueuedWithoutSpendingAttempts() {
+		AtomicBoolean down = new AtomicBoolean(true);
+		Set<String> written = ConcurrentHashMap.newKeySet();
+		var customers = writer.<String>channel("customers", row -> row, batch -> {
+			if (down.get()) {
+				throw new IllegalStateException("conexão recusada");
+			}
+			written.addAll(batch);
+		});
+		var tickets = writer.<String>channel("tickets", row -> row, written::addAll);
+
+		customers.enqueue("CLI-001");
+		customers.enqueue("CLI-002");
+		for (int i = 0; i < 5; i++) {
+			tickets.enqueue("TCK-" + i);
+			writer.flush();
+		}
+
+		assertEquals(2, writer.pendingCount());
+		assertEquals(0, writer.deadLetterCount());
+		assertEquals(5, written.size());
+
+		down.set(false);
+		writer.flush();
+
+		assertEquals(0, writer.pendingCount());
+		assertTrue(written.containsAll(List.of("CLI-001", "CLI-002")));
+	}
+}
@@ -0,0 +1,44 @@
+package techfix.techfix.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DocumentTemplateTest {
+
+	private static final float SIZE = 11f;
+
+	@Test
+	void wrappedLinesFitMeasuredWidthAndKeepEveryWord() {
+		String text = "Substituição do termostato, limpeza completa da serpentina e teste de estanqueidade "
+				+ "do circuito de refrigeração por 24 horas com registro de temperatura a cada hora.";
+
+		List<String> lines = DocumentTemplate.wrap(text, FontMetrics.REGULAR, SIZE, 200f);
+
+		assertTrue(lines.size() > 1);
+		for (String line : lines) {
+			assertTrue(FontMetrics.REGULAR.width(line, SIZE) <= 200f, line);
+		}
+		assertEquals(text, String.join(" ", lines));
+	}
+
+	@Test
+	void keepsParagraphBreaksAndBreaksWordsLongerThanALine() {
+		List<String> lines = DocumentTemplate.wrap("primeira\r\n\nsegunda " + "x".repeat(200), FontMetrics.REGULAR,
+				SIZE, DocumentTemplate.TEXT_WIDTH);
+
+		assertEquals("primeira", lines.get(0));
+		assertEquals("", lines.get(1));
+		assertEquals("segunda", lines.get(2));
+		assertEquals("x".repeat(200), String.join("", lines.subList(3, lines.size())));
+	}
+
+	@Test
+	void blankTextRendersAsDash() {
+		assertEquals(List.of("-"), DocumentTemplate.wrap("  ", FontMetrics.REGULAR, SIZE, 100f));
+		assertEquals(List.of("-"), DocumentTemplate.wrap(null, FontMetrics.REGULAR, SIZE, 100f));
+	}
+}
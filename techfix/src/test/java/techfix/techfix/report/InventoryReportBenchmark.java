@@ -0,0 +1,72 @@
+package techfix.techfix.report;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import techfix.techfix.inventory.InventoryService.InventoryItem;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class InventoryReportBenchmark {
+
+	@Param({ "1000", "100000" })
+	public int inventoryItems;
+
+	private final PdfReportService pdfReportService = new PdfReportService();
+	private final OutputStream sink = OutputStream.nullOutputStream();
+
+	@Benchmark
+	public void inventoryReport(Pages pages) {
+		pages.pages += pdfReportService.writeInventoryReport(this::items, sink);
+	}
+
+	private Iterator<InventoryItem> items() {
+		return new Iterator<>() {
+			private int next = 1;
+
+			@Override
+			public boolean hasNext() {
+				return next <= inventoryItems;
+			}
+
+			@Override
+			public InventoryItem next() {
+				int i = next++;
+				return new InventoryItem("PEC-%06d".formatted(i), "Peça de reposição " + i, "Marca " + (i % 17),
+						i % 23, new BigDecimal("10.50").multiply(BigDecimal.valueOf(i % 40 + 1)));
+			}
+		};
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Pages {
+
+		public long pages;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			pages = 0;
+		}
+	}
+}
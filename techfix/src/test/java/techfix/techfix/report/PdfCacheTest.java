@@ -0,0 +1,102 @@
+package techfix.techfix.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+class PdfCacheTest {
+
+	private final Customer customer = new Customer("CLI-001", "Luana Costa", "123.456.789-00", "(11) 98765-4321",
+			"Rua das Flores, 123");
+	private final Ticket ticket = ticket("TCK-1045", TicketStatus.TRIAGEM);
+
+	@Test
+	void secondRenderIsServedFromCache() {
+		PdfCache cache = new PdfCache(1024);
+		PdfCache.Key key = PdfCache.key("laudo", ticket, customer, "pedido");
+		AtomicInteger renders = new AtomicInteger();
+
+		byte[] first = render(cache, key, renders, "laudo");
+		byte[] second = render(cache, key, renders, "laudo");
+
+		assertEquals(1, renders.get());
+		assertEquals(new String(first), new String(second));
+		assertEquals(1L, cache.stats().hits());
+		assertEquals(1L, cache.stats().misses());
+	}
+
+	@Test
+	void keyDependsOnTicketCustomerAndRequest() {
+		PdfCache.Key key = PdfCache.key("budget", ticket, customer, "pedido");
+
+		assertEquals(key, PdfCache.key("budget", ticket, customer, "pedido"));
+		assertNotEquals(key.digest(), PdfCache.key("laudo", ticket, customer, "pedido").digest());
+		assertNotEquals(key.digest(), PdfCache.key("budget", ticket, customer, "outro").digest());
+		assertNotEquals(key.digest(),
+				PdfCache.key("budget", ticket("TCK-1045", TicketStatus.FINALIZADO), customer, "pedido").digest());
+	}
+
+	@Test
+	void changedTicketDropsItsCachedDocuments() {
+		PdfCache cache = new PdfCache(1024);
+		PdfCache.Key before = PdfCache.key("laudo", ticket, customer, "pedido");
+		cache.put(before, new byte[100]);
+
+		PdfCache.Key after = PdfCache.key("laudo", ticket("TCK-1045", TicketStatus.FINALIZADO), customer, "pedido");
+		assertNull(cache.get(after));
+
+		assertEquals(0, cache.stats().entries());
+		assertEquals(0L, cache.stats().bytes());
+		assertNull(cache.get(before));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedWhenOverByteBudget() {
+		PdfCache cache = new PdfCache(250);
+		PdfCache.Key a = PdfCache.key("laudo", ticket("TCK-1", TicketStatus.TRIAGEM), customer, "a");
+		PdfCache.Key b = PdfCache.key("laudo", ticket("TCK-2", TicketStatus.TRIAGEM), customer, "b");
+		PdfCache.Key c = PdfCache.key("laudo", ticket("TCK-3", TicketStatus.TRIAGEM), customer, "c");
+		cache.put(a, new byte[100]);
+		cache.put(b, new byte[100]);
+		assertNotNull(cache.get(a));
+
+		cache.put(c, new byte[100]);
+
+		assertNotNull(cache.get(a));
+		assertNull(cache.get(b));
+		assertNotNull(cache.get(c));
+		assertEquals(200L, cache.stats().bytes());
+		assertEquals(1L, cache.stats().evictions());
+	}
+
+	private static byte[] render(PdfCache cache, PdfCache.Key key, AtomicInteger renders, String content) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		cache.through(key, stream -> {
+			renders.incrementAndGet();
+			try {
+				stream.write((content + " " + System.nanoTime()).getBytes());
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}).accept(output);
+		return output.toByteArray();
+	}
+
+	private static Ticket ticket(String id, TicketStatus status) {
+		return new Ticket(id, "CLI-001", "Luana Costa", "Geladeira", "Não gela", status,
+				Instant.parse("2026-10-16T12:30:00Z"));
+	}
+}
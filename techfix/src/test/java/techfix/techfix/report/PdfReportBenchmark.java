@@ -0,0 +1,88 @@
+package techfix.techfix.report;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import techfix.techfix.customer.CustomerService.Customer;
+import techfix.techfix.inventory.InventoryService.InventoryItem;
+import techfix.techfix.ticket.TicketController.BudgetRequest;
+import techfix.techfix.ticket.TicketController.BudgetRequest.BudgetItem;
+import techfix.techfix.ticket.TicketController.BudgetRequest.LaborInfo;
+import techfix.techfix.ticket.TicketController.LaudoRequest;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfReportBenchmark {
+
+	@Param({ "1000", "100000" })
+	public int inventoryItems;
+
+	private final PdfReportService pdfReportService = new PdfReportService();
+	private final OutputStream sink = OutputStream.nullOutputStream();
+	private final Ticket ticket = new Ticket("TCK-1045", "CLI-001", "Luana Costa", "Geladeira Brastemp BWA12AB",
+			"Não gela o suficiente mesmo após limpeza recente.", TicketStatus.EM_ANDAMENTO,
+			Instant.parse("2026-10-16T12:30:00Z"));
+	private final Customer customer = new Customer("CLI-001", "Luana Costa", "123.456.789-00", "(11) 98765-4321",
+			"Rua das Flores, 123, Centro - São Paulo/SP - 01234-567");
+	private final BudgetRequest budget = new BudgetRequest("Termostato sem resposta", "Desgaste natural", true, false,
+			new BudgetItem("Termostato", "TSV-1", "PEC-002", new BigDecimal("140.00"), new BigDecimal("90.00")),
+			new LaborInfo("Troca do termostato", "2h", "Rafael"));
+	private final LaudoRequest laudo = new LaudoRequest("Gabinete íntegro", "Não gela", "Termostato travado",
+			"Substituição do termostato e teste de 24h", "Limpar a serpentina a cada 6 meses", "Rafael Lima");
+	private List<InventoryItem> items;
+
+	@Setup
+	public void populate() {
+		items = new ArrayList<>(inventoryItems);
+		for (int i = 1; i <= inventoryItems; i++) {
+			items.add(new InventoryItem("PEC-%05d".formatted(i), "Peça " + i, "Marca " + (i % 17), i % 23,
+					new BigDecimal("10.50").multiply(BigDecimal.valueOf(i % 40 + 1))));
+		}
+	}
+
+	@Benchmark
+	public byte[] inventoryReportBytes() {
+		// linha de base do antigo relatório todo em memória, para comparar com a versão em streaming
+		ByteArrayOutputStream output = new ByteArrayOutputStream(16 * 1024);
+		pdfReportService.writeInventoryReport(items, output);
+		return output.toByteArray();
+	}
+
+	@Benchmark
+	public void inventoryReportStreamed() {
+		pdfReportService.writeInventoryReport(items, sink);
+	}
+
+	@Benchmark
+	public void budgetStreamed() {
+		pdfReportService.writeBudgetPdf(ticket, customer, budget, sink);
+	}
+
+	@Benchmark
+	public void laudoStreamed() {
+		pdfReportService.writeLaudoPdf(ticket, customer, laudo, sink);
+	}
+}
@@ -0,0 +1,134 @@
+package techfix.techfix.report;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import techfix.techfix.common.OverloadedException;
+import techfix.techfix.metrics.TechfixMetrics;
+import techfix.techfix.report.ReportJobService.ReportJob;
+import techfix.techfix.report.ReportJobService.ReportJobStatus;
+
+class ReportJobServiceTest {
+
+	private final ReportJobService reportJobService = new ReportJobService(1, 1, Duration.ofMinutes(10), Duration.ofSeconds(5),
+			TechfixMetrics.noop());
+
+	@AfterEach
+	void shutdown() {
+		reportJobService.shutdown();
+	}
+
+	@Test
+	void completedJobKeepsContentAndTiming() throws Exception {
+		ReportJob job = reportJobService.submit("laudo", "laudo-TCK-1045.pdf", output -> write(output, "%PDF"));
+
+		awaitFinished(job);
+
+		assertEquals(ReportJobStatus.DONE, job.status());
+		assertArrayEquals("%PDF".getBytes(), job.content());
+		assertTrue(job.queuedMillis() >= 0);
+		assertTrue(job.renderMillis() >= 0);
+		assertEquals(job, reportJobService.find(job.id()).orElseThrow());
+	}
+
+	@Test
+	void failedJobRecordsError() throws Exception {
+		ReportJob job = reportJobService.submit("budget", "orcamento.pdf", output -> {
+			throw new IllegalStateException("Falha ao gerar PDF de orçamento");
+		});
+
+		awaitFinished(job);
+
+		assertEquals(ReportJobStatus.FAILED, job.status());
+		assertEquals("Falha ao gerar PDF de orçamento", job.error());
+	}
+
+	@Test
+	void rejectsSubmissionsBeyondQueueCapacity() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ReportJob blocking = reportJobService.submit("laudo", "a.pdf", output -> {
+			running.countDown();
+			awaitQuietly(release);
+		});
+		running.await(5, TimeUnit.SECONDS);
+		ReportJob queued = reportJobService.submit("laudo", "b.pdf", output -> write(output, "b"));
+
+		assertEquals(1, reportJobService.queueDepth());
+		assertThrows(OverloadedException.class,
+				() -> reportJobService.submit("laudo", "c.pdf", output -> write(output, "c")));
+
+		release.countDown();
+		awaitFinished(blocking);
+		awaitFinished(queued);
+		assertEquals(ReportJobStatus.DONE, queued.status());
+	}
+
+	@Test
+	void reservationRejectsBeforeRenderingWhenNoPermitIsFree() throws Exception {
+		ReportJobService busy = new ReportJobService(1, 1, Duration.ofMinutes(10), Duration.ofMillis(50),
+				TechfixMetrics.noop());
+		try {
+			Consumer<OutputStream> first = busy.reserve("laudo", output -> write(output, "%PDF"));
+			assertThrows(OverloadedException.class, () -> busy.reserve("laudo", output -> write(output, "x")));
+
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			first.accept(output);
+			assertArrayEquals("%PDF".getBytes(), output.toByteArray());
+			assertThrows(IllegalStateException.class, () -> first.accept(new ByteArrayOutputStream()));
+
+			busy.reserve("laudo", stream -> write(stream, "y")).accept(new ByteArrayOutputStream());
+		} finally {
+			busy.shutdown();
+		}
+	}
+
+	@Test
+	void evictsFinishedJobsAfterTtl() throws Exception {
+		ReportJob job = reportJobService.submit("laudo", "laudo.pdf", output -> write(output, "%PDF"));
+		awaitFinished(job);
+
+		reportJobService.evictFinishedBefore(job.submittedAt());
+		assertTrue(reportJobService.find(job.id()).isPresent());
+
+		reportJobService.evictFinishedBefore(job.finishedAt().plusMillis(1));
+		assertTrue(reportJobService.find(job.id()).isEmpty());
+	}
+
+	private static void awaitFinished(ReportJob job) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (job.finishedAt() == null && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void write(OutputStream output, String text) {
+		try {
+			output.write(text.getBytes());
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package techfix.techfix.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextWrapBenchmark {
+
+	private final String paragraph = "Condições encontradas: gabinete íntegro, borracha da porta ressecada, "
+			+ "serpentina com acúmulo de poeira e termostato travado na posição mínima. Após a substituição do "
+			+ "termostato e limpeza completa, o equipamento foi mantido em teste por 24 horas com registro de "
+			+ "temperatura a cada hora, sem novas ocorrências.";
+
+	@Benchmark
+	public List<String> measuredWrap() {
+		return DocumentTemplate.wrap(paragraph, FontMetrics.REGULAR, 11f, DocumentTemplate.TEXT_WIDTH);
+	}
+
+	@Benchmark
+	public List<String> regexWrap() {
+		return regexWrap(paragraph, 90);
+	}
+
+	private static List<String> regexWrap(String text, int max) {
+		String[] paragraphs = text.replace("\r", "").split("\n");
+		List<String> lines = new ArrayList<>();
+		for (String paragraph : paragraphs) {
+			String trimmed = paragraph.trim();
+			if (trimmed.isEmpty()) {
+				lines.add("");
+				continue;
+			}
+			StringBuilder line = new StringBuilder();
+			for (String word : trimmed.split("\\s+")) {
+				if (line.length() + word.length() + 1 > max) {
+					lines.add(line.toString().trim());
+					line = new StringBuilder();
+				}
+				line.append(word).append(' ');
+			}
+			if (line.length() > 0) {
+				lines.add(line.toString().trim());
+			}
+		}
+		return lines;
+	}
+}
@@ -0,0 +1,66 @@
+package techfix.techfix.ticket;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+import techfix.techfix.ticket.TicketService.SearchResult;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TicketSearchBenchmark {
+
+	private static final String[] DEVICES = { "Geladeira Brastemp", "Máquina de Lavar Consul", "Televisão Samsung",
+			"Micro-ondas Electrolux", "Freezer Consul", "Lava e Seca LG" };
+	private static final String[] SYMPTOMS = { "Não gela o suficiente", "Não completa a centrifugação",
+			"Painel liga mas não aquece", "Faz barulho ao girar o tambor", "Vazamento de água pela porta",
+			"Tela sem imagem, só áudio", "Desarma o disjuntor ao ligar", "Formando gelo no evaporador" };
+
+	@Param({ "1000", "100000", "1000000" })
+	public int tickets;
+
+	@Param({ "não gela", "centrifugação", "disjuntor evaporador", "vazamento porta geladeira" })
+	public String query;
+
+	private TicketService ticketService;
+
+	@Setup
+	public void populate() {
+		ticketService = new TicketService(new CustomerService(EntityRepository.none(), SequenceStore.local()),
+				EntityRepository.none(), SequenceStore.local());
+		for (int i = 0; i < tickets; i++) {
+			ticketService.create("CLI-00" + (i % 4 + 1), DEVICES[i % DEVICES.length], "Modelo " + i,
+					SYMPTOMS[i % SYMPTOMS.length] + " após " + (i % 97) + " dias de uso");
+		}
+	}
+
+	@Benchmark
+	public SearchResult search() {
+		return ticketService.search(query, null, TicketService.DEFAULT_SEARCH_LIMIT);
+	}
+
+	@Benchmark
+	public SearchResult searchPending() {
+		return ticketService.search(query, Set.of(TicketStatus.TRIAGEM, TicketStatus.EM_ANDAMENTO),
+				TicketService.DEFAULT_SEARCH_LIMIT);
+	}
+}
@@ -0,0 +1,82 @@
+package techfix.techfix.ticket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import techfix.techfix.ticket.TicketService.SearchResult;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+class TicketSearchIndexTest {
+
+	private final Map<String, Ticket> tickets = new HashMap<>();
+
+	@Test
+	void oldBestMatchIsFoundPastTheBudgetBySkippingWeakerBlocks() {
+		TicketSearchIndex index = new TicketSearchIndex(tickets::get, 200);
+		for (int i = 0; i < 5_000; i++) {
+			add(index, i, i == 10 ? "Não liga, pisca e não liga de novo, liga só às vezes" : "Não liga de jeito nenhum",
+					TicketStatus.TRIAGEM);
+		}
+
+		SearchResult result = index.search("liga", null, 1);
+
+		assertEquals(List.of("TCK-10"), ids(result));
+		assertTrue(result.complete());
+	}
+
+	@Test
+	void exhaustedBudgetIsReportedAsIncomplete() {
+		TicketSearchIndex small = new TicketSearchIndex(tickets::get, 100);
+		TicketSearchIndex large = new TicketSearchIndex(tickets::get, 1_000);
+		for (int i = 0; i < 500; i++) {
+			TicketStatus status = i == 0 ? TicketStatus.FINALIZADO : TicketStatus.TRIAGEM;
+			add(small, i, "Vazamento na porta da geladeira", status);
+			large.add(tickets.get("TCK-" + i));
+		}
+
+		SearchResult truncated = small.search("vazamento", Set.of(TicketStatus.FINALIZADO), 5);
+		SearchResult full = large.search("vazamento", Set.of(TicketStatus.FINALIZADO), 5);
+
+		assertEquals(List.of(), ids(truncated));
+		assertFalse(truncated.complete());
+		assertEquals(List.of("TCK-0"), ids(full));
+		assertTrue(full.complete());
+	}
+
+	@Test
+	void pruningKeepsTheSameTopResultsAsAFullScan() {
+		TicketSearchIndex pruned = new TicketSearchIndex(tickets::get);
+		TicketSearchIndex exhaustive = new TicketSearchIndex(tickets::get, Integer.MAX_VALUE);
+		String[] symptoms = { "Não gela", "Não gela e faz barulho", "Gela pouco, não gela o congelador",
+				"Barulho no motor", "Não gela não gela não gela" };
+		for (int i = 0; i < 3_000; i++) {
+			add(pruned, i, symptoms[(i * 7) % symptoms.length] + " há " + (i % 13) + " dias", TicketStatus.TRIAGEM);
+			exhaustive.add(tickets.get("TCK-" + i));
+		}
+
+		for (String query : List.of("gela", "nao gela", "barulho", "gela barulho")) {
+			assertEquals(ids(exhaustive.search(query, null, 20)), ids(pruned.search(query, null, 20)), query);
+		}
+	}
+
+	private void add(TicketSearchIndex index, int n, String description, TicketStatus status) {
+		Ticket ticket = new Ticket("TCK-" + n, "CLI-001", "Luana Costa", "Geladeira", description, status,
+				Instant.EPOCH.plusSeconds(n));
+		tickets.put(ticket.id(), ticket);
+		index.add(ticket);
+	}
+
+	private static List<String> ids(SearchResult result) {
+		return result.tickets().stream().map(Ticket::id).toList();
+	}
+}
@@ -0,0 +1,65 @@
+package techfix.techfix.ticket;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+import techfix.techfix.ticket.TicketService.Ticket;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TicketServiceBenchmark {
+
+	static final int CREATES_PER_OP = 1000;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int tickets;
+
+	private TicketService ticketService;
+	private int next;
+
+	@Setup(Level.Iteration)
+	public void populate() {
+		ticketService = new TicketService(new CustomerService(EntityRepository.none(), SequenceStore.local()),
+				EntityRepository.none(), SequenceStore.local());
+		for (next = 0; next < tickets; next++) {
+			create(next);
+		}
+	}
+
+	@Benchmark
+	public List<Ticket> findAll() {
+		return ticketService.findAll();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 3, batchSize = CREATES_PER_OP)
+	@Measurement(iterations = 5, batchSize = CREATES_PER_OP)
+	public Ticket create() {
+		return create(next++);
+	}
+
+	private Ticket create(int n) {
+		return ticketService.create("CLI-00" + (n % 4 + 1), "Geladeira", "Modelo " + n, "Não gela o suficiente");
+	}
+}
@@ -0,0 +1,188 @@
+package techfix.techfix.ticket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import techfix.techfix.common.ConflictException;
+import techfix.techfix.common.Page;
+import techfix.techfix.customer.CustomerService;
+import techfix.techfix.persistence.EntityRepository;
+import techfix.techfix.persistence.SequenceStore;
+import techfix.techfix.ticket.TicketService.Ticket;
+import techfix.techfix.ticket.TicketService.TicketSort;
+import techfix.techfix.ticket.TicketService.TicketStatus;
+
+class TicketServiceTest {
+
+	private TicketService ticketService;
+
+	@BeforeEach
+	void setUp() {
+		ticketService = new TicketService(new CustomerService(EntityRepository.none(), SequenceStore.local()),
+				EntityRepository.none(), SequenceStore.local());
+		ticketService.seedData();
+	}
+
+	@Test
+	void keysetPagesWalkEveryTicketOnceInIdOrder() {
+		for (int i = 0; i < 7; i++) {
+			ticketService.create("CLI-00" + (i % 4 + 1), "Geladeira", "Modelo " + i, "Não liga de jeito nenhum");
+		}
+
+		List<String> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			Page<Ticket> page = ticketService.page(null, null, TicketSort.ID, cursor, 3);
+			page.items().forEach(ticket -> seen.add(ticket.id()));
+			cursor = page.nextCursor();
+		} while (cursor != null);
+
+		assertEquals(11, seen.size());
+		assertEquals("TCK-1045", seen.get(0));
+		assertEquals("TCK-1055", seen.get(10));
+	}
+
+	@Test
+	void filtersByStatusAndCustomer() {
+		ticketService.create("CLI-001", "Fogão", "Atlas", "Forno não acende");
+
+		var triagem = ticketService.page(TicketStatus.TRIAGEM, null, TicketSort.ID, null, 10);
+		assertEquals(List.of("TCK-1047", "TCK-1049"), triagem.items().stream().map(Ticket::id).toList());
+		assertNull(triagem.nextCursor());
+
+		var customerTriagem = ticketService.page(TicketStatus.TRIAGEM, "CLI-001", TicketSort.ENTRY_DATE, null, 10);
+		assertEquals(List.of("TCK-1049"), customerTriagem.items().stream().map(Ticket::id).toList());
+	}
+
+	@Test
+	void maintainsDashboardAggregatesOnCreate() {
+		int createdToday = ticketService.countCreatedOn(LocalDate.now());
+		ticketService.create("CLI-002", "Lavadora", "Brastemp", "Vazando água pela porta");
+
+		assertEquals(2, ticketService.countByStatus(TicketStatus.TRIAGEM));
+		assertEquals(3, ticketService.countByStatus(TicketStatus.EM_ANDAMENTO));
+		assertEquals(createdToday + 1, ticketService.countCreatedOn(LocalDate.now()));
+		assertEquals(List.of("TCK-1049", "TCK-1048"),
+				ticketService.recentPending(2).stream().map(Ticket::id).toList());
+	}
+
+	@Test
+	void statusTransitionsAreCheckedAndReindexed() {
+		var updated = ticketService.changeStatus("TCK-1047", TicketStatus.TRIAGEM, TicketStatus.EM_ANDAMENTO);
+		assertEquals(TicketStatus.EM_ANDAMENTO, updated.status());
+		assertThrows(ConflictException.class,
+				() -> ticketService.changeStatus("TCK-1047", TicketStatus.TRIAGEM, TicketStatus.FINALIZADO));
+
+		ticketService.changeStatus("TCK-1047", null, TicketStatus.FINALIZADO);
+		assertThrows(ConflictException.class,
+				() -> ticketService.changeStatus("TCK-1047", null, TicketStatus.EM_ANDAMENTO));
+		assertThrows(IllegalArgumentException.class,
+				() -> ticketService.changeStatus("TCK-9999", null, TicketStatus.FINALIZADO));
+
+		assertEquals(0, ticketService.countByStatus(TicketStatus.TRIAGEM));
+		assertEquals(1, ticketService.countByStatus(TicketStatus.FINALIZADO));
+		assertEquals(List.of("TCK-1047"), ticketService.page(TicketStatus.FINALIZADO, null, TicketSort.ID, null, 10)
+				.items().stream().map(Ticket::id).toList());
+		assertEquals(3, ticketService.recentPending(10).size());
+	}
+
+	@Test
+	void notifiesListenersOnlyWhenATicketActuallyChanges() {
+		List<String> changes = new ArrayList<>();
+		ticketService.onChange(ticket -> changes.add(ticket.id() + ":" + ticket.status()));
+
+		ticketService.create("CLI-003", "Micro-ondas", "Consul", "Não aquece os alimentos");
+		ticketService.changeStatus("TCK-1047", null, TicketStatus.TRIAGEM);
+		ticketService.changeStatus("TCK-1047", null, TicketStatus.EM_ANDAMENTO);
+		assertThrows(ConflictException.class,
+				() -> ticketService.changeStatus("TCK-1047", TicketStatus.TRIAGEM, TicketStatus.FINALIZADO));
+
+		assertEquals(List.of("TCK-1049:TRIAGEM", "TCK-1047:EM_ANDAMENTO"), changes);
+	}
+
+	@Test
+	void searchFoldsAccentsStemsAndRanksBySymptom() {
+		ticketService.create("CLI-002", "Lava e Seca", "LG WD11", "Não centrifuga e faz barulho ao girar o tambor");
+		ticketService.create("CLI-003", "Freezer", "Consul", "Gelando demais, congela tudo");
+
+		assertEquals(List.of("TCK-1045"), ids(ticketService.search("nao gela", null, 10).tickets()));
+		assertEquals(List.of("TCK-1047", "TCK-1049"),
+				ids(ticketService.search("CENTRIFUGAÇÃO", null, 10).tickets()));
+		assertEquals(List.of("TCK-1047"),
+				ids(ticketService.search("centrifugando", Set.of(TicketStatus.TRIAGEM), 1).tickets()));
+		assertEquals(List.of(), ticketService.search("de o a", null, 10).tickets());
+	}
+
+	@Test
+	void searchFiltersByCurrentStatus() {
+		ticketService.changeStatus("TCK-1047", null, TicketStatus.FINALIZADO);
+
+		assertEquals(List.of("TCK-1047"),
+				ids(ticketService.search("centrifugacao", Set.of(TicketStatus.FINALIZADO), 10).tickets()));
+		assertEquals(List.of(),
+				ticketService.search("centrifugacao", Set.of(TicketStatus.TRIAGEM), 10).tickets());
+	}
+
+	@Test
+	void rangeAndAgingQueriesWalkTheEntryTimeIndex() {
+		Instant now = Instant.now();
+		Page<Ticket> first = ticketService.page(null, null, TicketSort.ID, now.minus(Duration.ofHours(26)),
+				now.minus(Duration.ofHours(4)), null, 1);
+		Page<Ticket> second = ticketService.page(null, null, TicketSort.ID, now.minus(Duration.ofHours(26)),
+				now.minus(Duration.ofHours(4)), first.nextCursor(), 1);
+
+		assertEquals(List.of("TCK-1046"), ids(first.items()));
+		assertEquals(List.of("TCK-1047"), ids(second.items()));
+		assertNull(second.nextCursor());
+		assertEquals(2, ticketService.countEnteredBetween(now.minus(Duration.ofHours(6)), now.plusSeconds(60)));
+
+		ticketService.changeStatus("TCK-1046", null, TicketStatus.FINALIZADO);
+
+		assertEquals(List.of("TCK-1045", "TCK-1047"),
+				ids(ticketService.openSince(now.minus(Duration.ofHours(4)), null, 10).items()));
+	}
+
+	@Test
+	void eachTicketsEventsReachListenersInTheOrderTheyHappened() throws Exception {
+		Map<String, List<TicketStatus>> seen = new ConcurrentHashMap<>();
+		ticketService.onEvent(event -> seen.computeIfAbsent(event.ticket().id(), id -> new CopyOnWriteArrayList<>())
+				.add(event.previousStatus()));
+		BlockingQueue<String> created = new LinkedBlockingQueue<>();
+		int count = 500;
+
+		Thread creator = new Thread(() -> {
+			for (int i = 0; i < count; i++) {
+				created.add(ticketService.create("CLI-00" + (i % 4 + 1), "Fogão", "Modelo " + i, "Não acende").id());
+			}
+		});
+		creator.start();
+		for (int i = 0; i < count; i++) {
+			ticketService.changeStatus(created.take(), TicketStatus.TRIAGEM, TicketStatus.EM_ANDAMENTO);
+		}
+		creator.join();
+
+		assertEquals(count, seen.size());
+		seen.forEach((id, previous) -> assertEquals(Arrays.asList(null, TicketStatus.TRIAGEM), previous, id));
+	}
+
+	private static List<String> ids(List<Ticket> tickets) {
+		return tickets.stream().map(Ticket::id).toList();
+	}
+}